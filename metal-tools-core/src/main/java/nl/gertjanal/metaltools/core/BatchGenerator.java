@@ -0,0 +1,280 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.core;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.parsingdata.metal.data.ParseGraph;
+
+/**
+ * Generate pages for many graphs into one directory, concurrently.
+ * <p>
+ * At most {@code parallelism} jobs run at the same time; the jobs are taken from the stream only when there is room,
+ * so a long stream is never queued as a whole. On Java 21 and later every job runs on a virtual thread,
+ * otherwise on a fixed thread pool. Every job generates into its own temporary directory, after which its files are
+ * renamed into the directory one by one, pages last, so other jobs and viewers never see a partially written file.
+ * A job that fails does not stop the other jobs, also not when it fails with an {@link Error} such as a
+ * {@link StackOverflowError} of a deep parse; its error is reported in its {@link Result}.
+ * <p>
+ * A job owns the entries {@code <name>} and {@code <name>.*} of the directory, except those of a job with a longer name
+ * that starts with it. After publishing, the files it owns that it did not write this time are deleted, so shards,
+ * deltas or trees of a previous run do not survive.
+ *
+ * @author Gertjan Al.
+ */
+public class BatchGenerator {
+
+	private static final String STAGING_PREFIX = ".batch-";
+
+	private final Path _dir;
+	private final int _parallelism;
+	private final Generator _generator;
+	private final Set<String> _names = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Generate the page of one job, for example {@code (graph, data, name, dir) -> JsHexViewer.generate(graph, data, name, dir, false)}.
+	 */
+	@FunctionalInterface
+	public interface Generator {
+		void generate(ParseGraph graph, Path data, String fileName, Path dir) throws Exception;
+	}
+
+	public BatchGenerator(final Path dir, final int parallelism, final Generator generator) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+		}
+		_dir = dir;
+		_parallelism = parallelism;
+		_generator = generator;
+	}
+
+	/**
+	 * Run all jobs and wait until they are done.
+	 *
+	 * @return the result of every job, in the order of the stream
+	 */
+	public List<Result> generate(final Stream<Job> jobs) throws IOException, InterruptedException {
+		Files.createDirectories(_dir);
+		final ExecutorService executor = executor();
+		final Semaphore running = new Semaphore(_parallelism);
+		final List<Future<Result>> futures = new ArrayList<>();
+		try {
+			final Iterator<Job> iterator = jobs.iterator();
+			while (iterator.hasNext()) {
+				final Job job = iterator.next();
+				_names.add(job.name);
+				running.acquire();
+				futures.add(executor.submit(() -> {
+					try {
+						return run(job);
+					}
+					finally {
+						running.release();
+					}
+				}));
+			}
+			final List<Result> results = new ArrayList<>();
+			for (final Future<Result> future : futures) {
+				try {
+					results.add(future.get());
+				}
+				catch (final ExecutionException e) {
+					// run(...) reports everything a job throws in its result
+					throw new IllegalStateException(e.getCause());
+				}
+			}
+			return results;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Result run(final Job job) {
+		Path staging = null;
+		try {
+			staging = Files.createTempDirectory(_dir, STAGING_PREFIX);
+			_generator.generate(job.graph, job.data, job.name, staging);
+			publish(staging, job.name);
+			return new Result(job.name, null);
+		}
+		catch (final Throwable e) {
+			// Also an Error fails only this job
+			return new Result(job.name, e);
+		}
+		finally {
+			if (staging != null) {
+				delete(staging);
+			}
+		}
+	}
+
+	/**
+	 * Rename the files of the staging directory into the directory. The pages are moved last, so the files they load
+	 * are there when they appear.
+	 */
+	private void publish(final Path staging, final String name) throws IOException {
+		final List<Path> files;
+		try (Stream<Path> walk = Files.walk(staging)) {
+			files = walk.filter(file -> !Files.isDirectory(file))
+				.sorted(Comparator.comparing((Path file) -> file.getFileName().toString().endsWith(".htm")).thenComparing(Comparator.naturalOrder()))
+				.collect(Collectors.toList());
+		}
+		final Set<Path> published = new HashSet<>();
+		for (final Path file : files) {
+			final Path target = _dir.resolve(staging.relativize(file).toString());
+			Files.createDirectories(target.getParent());
+			try {
+				Files.move(file, target, ATOMIC_MOVE);
+			}
+			catch (final AtomicMoveNotSupportedException e) {
+				Files.move(file, target, REPLACE_EXISTING);
+			}
+			published.add(target);
+		}
+		removeStale(name, published);
+	}
+
+	/**
+	 * Delete the files of the job in the directory that were not published now. They are deleted after publishing,
+	 * so a viewer never misses a file that is still used. Links are deleted, not the files they point to.
+	 */
+	private void removeStale(final String name, final Set<Path> published) throws IOException {
+		final List<Path> owned;
+		try (Stream<Path> entries = Files.list(_dir)) {
+			owned = entries.filter(entry -> name.equals(owner(entry.getFileName().toString()))).collect(Collectors.toList());
+		}
+		for (final Path entry : owned) {
+			try (Stream<Path> walk = Files.walk(entry)) {
+				for (final Path path : (Iterable<Path>) walk.sorted(Comparator.reverseOrder())::iterator) {
+					if (!Files.isDirectory(path, NOFOLLOW_LINKS)) {
+						if (!published.contains(path)) {
+							Files.deleteIfExists(path);
+						}
+					}
+					else if (isEmpty(path)) {
+						Files.delete(path);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the name of the job that owns the entry of the directory: the longest name it starts with, or null
+	 */
+	private String owner(final String entry) {
+		String owner = null;
+		for (final String name : _names) {
+			if ((entry.equals(name) || entry.startsWith(name + ".")) && (owner == null || name.length() > owner.length())) {
+				owner = name;
+			}
+		}
+		return owner;
+	}
+
+	private static boolean isEmpty(final Path dir) throws IOException {
+		try (Stream<Path> entries = Files.list(dir)) {
+			return !entries.findAny().isPresent();
+		}
+	}
+
+	private static void delete(final Path dir) {
+		try (Stream<Path> walk = Files.walk(dir)) {
+			for (final Path path : (Iterable<Path>) walk.sorted(Comparator.reverseOrder())::iterator) {
+				Files.deleteIfExists(path);
+			}
+		}
+		catch (final IOException e) {
+			// Leave what could not be deleted; it is hidden and does not affect the output
+		}
+	}
+
+	private ExecutorService executor() {
+		try {
+			// Virtual threads are available from Java 21; the semaphore bounds how many jobs run
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		catch (final ReflectiveOperationException e) {
+			return Executors.newFixedThreadPool(_parallelism);
+		}
+	}
+
+	/**
+	 * A graph to generate a page for, with its source data (or null) and the name of the page.
+	 */
+	public static class Job {
+		private final String name;
+		private final ParseGraph graph;
+		private final Path data;
+
+		public Job(final String name, final ParseGraph graph, final Path data) {
+			this.name = name;
+			this.graph = graph;
+			this.data = data;
+		}
+	}
+
+	/**
+	 * The outcome of a job: either it succeeded, or it failed with the error.
+	 */
+	public static class Result {
+		private final String name;
+		private final Throwable error;
+
+		private Result(final String name, final Throwable error) {
+			this.name = name;
+			this.error = error;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public boolean isSuccess() {
+			return error == null;
+		}
+
+		/**
+		 * @return the error of a failed job, or null
+		 */
+		public Throwable getError() {
+			return error;
+		}
+	}
+}
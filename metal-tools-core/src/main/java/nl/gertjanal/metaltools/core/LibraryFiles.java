@@ -0,0 +1,172 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Extract the libraries of a generated page, from the classpath or from a jar, into an output directory.
+ * <p>
+ * The directory keeps a manifest {@value #MANIFEST} with the SHA-256 hash and size of every extracted file.
+ * A file is only written when its hash differs from the manifest, or when it is missing in the directory,
+ * so generating many pages into one directory extracts the libraries once. The hashes of the libraries are
+ * computed once per source.
+ *
+ * @author Gertjan Al.
+ */
+public class LibraryFiles {
+
+	static final String MANIFEST = ".libraries";
+
+	private static final Map<URI, Map<String, String>> HASHES = new ConcurrentHashMap<>();
+
+	/**
+	 * Extract the resource directory, like {@code /jsHexViewer/libs/}, of the class into the destination.
+	 */
+	public static void extract(final Class<?> owner, final String resource, final Path destination) throws URISyntaxException, IOException {
+		final URL url = owner.getResource(resource);
+		if (url == null) {
+			throw new IOException("Resource not found: " + resource);
+		}
+		extract(url.toURI(), destination);
+	}
+
+	/**
+	 * Extract the directory, on the file system or inside a jar ({@code jar:file:...!/path}), into the destination.
+	 */
+	public static void extract(final URI source, final Path destination) throws IOException {
+		final Path root = path(source);
+		Map<String, String> hashes = HASHES.get(source);
+		if (hashes == null) {
+			hashes = hash(root);
+			HASHES.put(source, hashes);
+		}
+
+		Files.createDirectories(destination);
+		final Path manifestFile = destination.resolve(MANIFEST);
+		final Map<String, String> manifest = read(manifestFile);
+		boolean changed = false;
+		for (final Map.Entry<String, String> entry : hashes.entrySet()) {
+			final Path target = destination.resolve(entry.getKey());
+			if (entry.getValue().equals(manifest.get(entry.getKey())) && Files.isRegularFile(target)
+				&& Long.toString(Files.size(target)).equals(size(entry.getValue()))) {
+				continue;
+			}
+			Files.createDirectories(target.getParent());
+			try (InputStream in = Files.newInputStream(root.resolve(entry.getKey()))) {
+				Files.copy(in, target, REPLACE_EXISTING);
+			}
+			manifest.put(entry.getKey(), entry.getValue());
+			changed = true;
+		}
+		if (changed) {
+			final List<String> lines = new ArrayList<>();
+			for (final Map.Entry<String, String> entry : manifest.entrySet()) {
+				lines.add(entry.getValue() + " " + entry.getKey());
+			}
+			Files.write(manifestFile, lines, UTF_8);
+		}
+	}
+
+	private static Path path(final URI source) throws IOException {
+		if ("jar".equals(source.getScheme())) {
+			try {
+				// The file system stays open, as other generators may read from the same jar
+				FileSystems.newFileSystem(source, Collections.<String, Object>emptyMap());
+			}
+			catch (final FileSystemAlreadyExistsException e) {
+				// Opened before
+			}
+		}
+		return Paths.get(source);
+	}
+
+	/**
+	 * @return the "hash size" of every file under the root, by the path relative to the root
+	 */
+	private static Map<String, String> hash(final Path root) throws IOException {
+		final Map<String, String> hashes = new TreeMap<>();
+		try (Stream<Path> files = Files.walk(root)) {
+			for (final Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+				final MessageDigest digest = digest();
+				long size = 0;
+				try (InputStream in = Files.newInputStream(file)) {
+					final byte[] buffer = new byte[1 << 16];
+					int read;
+					while ((read = in.read(buffer)) >= 0) {
+						digest.update(buffer, 0, read);
+						size += read;
+					}
+				}
+				final StringBuilder hash = new StringBuilder();
+				for (final byte b : digest.digest()) {
+					hash.append(String.format("%02x", b));
+				}
+				hashes.put(root.relativize(file).toString().replace(root.getFileSystem().getSeparator(), "/"), hash + " " + size);
+			}
+		}
+		return hashes;
+	}
+
+	private static Map<String, String> read(final Path manifestFile) throws IOException {
+		final Map<String, String> manifest = new TreeMap<>();
+		if (Files.isRegularFile(manifestFile)) {
+			for (final String line : Files.readAllLines(manifestFile, UTF_8)) {
+				final String[] fields = line.split(" ", 3);
+				if (fields.length == 3) {
+					manifest.put(fields[2], fields[0] + " " + fields[1]);
+				}
+			}
+		}
+		return manifest;
+	}
+
+	private static String size(final String hash) {
+		return hash.substring(hash.indexOf(' ') + 1);
+	}
+
+	private static MessageDigest digest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (final NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.gertjanal.metaltools.core;
+
+import io.parsingdata.metal.data.ParseGraph;
+import io.parsingdata.metal.data.ParseReference;
+import io.parsingdata.metal.data.ParseValue;
+import io.parsingdata.metal.data.Slice;
+
+/**
+ * Receives the items of a {@link ParseGraph} from the {@link ParseGraphWalker}.
+ * <p>
+ * Every item is visited with the state of its parent, starting with the state from {@link #root(ParseGraph)}.
+ * For a graph with a head, {@link #head(ParseGraph, Object)} and {@link #tail(ParseGraph, Object)} are called
+ * right after {@link #graph(ParseGraph, Object)}, in that order, to get the states of its head and tail.
+ *
+ * @param <T> the state that is passed from a graph to its head and tail
+ * @author Gertjan Al.
+ */
+public interface ParseGraphSink<T> {
+
+	T root(ParseGraph graph);
+
+	default void graph(final ParseGraph graph, final T state) {
+	}
+
+	/**
+	 * @param slice the slice of the value, to prevent looking it up again in every sink
+	 */
+	default void value(final ParseValue value, final Slice slice, final T state) {
+	}
+
+	default void reference(final ParseReference reference, final T state) {
+	}
+
+	default T head(final ParseGraph graph, final T state) {
+		return state;
+	}
+
+	default T tail(final ParseGraph graph, final T state) {
+		return state;
+	}
+}
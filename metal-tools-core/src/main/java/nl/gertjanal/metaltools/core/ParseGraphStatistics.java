@@ -0,0 +1,98 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.gertjanal.metaltools.core;
+
+import java.math.BigInteger;
+
+import io.parsingdata.metal.data.ParseGraph;
+import io.parsingdata.metal.data.ParseReference;
+import io.parsingdata.metal.data.ParseValue;
+import io.parsingdata.metal.data.Slice;
+
+/**
+ * Count the items of a {@link ParseGraph}. The state is the depth of the item in the graph.
+ *
+ * @author Gertjan Al.
+ */
+public class ParseGraphStatistics implements ParseGraphSink<Integer> {
+
+	private long _graphCount;
+	private long _valueCount;
+	private long _referenceCount;
+	private BigInteger _valueBytes = BigInteger.ZERO;
+	private int _maxDepth;
+
+	@Override
+	public Integer root(final ParseGraph graph) {
+		return 0;
+	}
+
+	@Override
+	public void graph(final ParseGraph graph, final Integer depth) {
+		_graphCount++;
+		_maxDepth = Math.max(_maxDepth, depth);
+	}
+
+	@Override
+	public void value(final ParseValue value, final Slice slice, final Integer depth) {
+		_valueCount++;
+		_valueBytes = _valueBytes.add(slice.length);
+		_maxDepth = Math.max(_maxDepth, depth);
+	}
+
+	@Override
+	public void reference(final ParseReference reference, final Integer depth) {
+		_referenceCount++;
+		_maxDepth = Math.max(_maxDepth, depth);
+	}
+
+	@Override
+	public Integer head(final ParseGraph graph, final Integer depth) {
+		return depth + 1;
+	}
+
+	@Override
+	public Integer tail(final ParseGraph graph, final Integer depth) {
+		// The tail continues the same graph
+		return depth;
+	}
+
+	/**
+	 * @return the number of graphs, including the empty graphs that end every tail
+	 */
+	public long getGraphCount() {
+		return _graphCount;
+	}
+
+	public long getValueCount() {
+		return _valueCount;
+	}
+
+	public long getReferenceCount() {
+		return _referenceCount;
+	}
+
+	/**
+	 * @return the total length of all values
+	 */
+	public BigInteger getValueBytes() {
+		return _valueBytes;
+	}
+
+	public int getMaxDepth() {
+		return _maxDepth;
+	}
+}
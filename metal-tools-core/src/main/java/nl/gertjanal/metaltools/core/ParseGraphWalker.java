@@ -0,0 +1,91 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.gertjanal.metaltools.core;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import io.parsingdata.metal.data.ParseGraph;
+import io.parsingdata.metal.data.ParseItem;
+import io.parsingdata.metal.data.ParseValue;
+
+/**
+ * Walk a {@link ParseGraph} once and pass every item to one or more sinks.
+ * <p>
+ * The tail of a graph is visited before its head, so the values are visited in the order in which they were parsed.
+ * The graph is walked with an explicit stack instead of recursion; a long rep(...) results in a tail chain
+ * that is far deeper than the call stack allows.
+ *
+ * @author Gertjan Al.
+ */
+public class ParseGraphWalker {
+
+	public static void walk(final ParseGraph graph, final ParseGraphSink<?>... sinks) {
+		@SuppressWarnings("unchecked")
+		final ParseGraphSink<Object>[] targets = (ParseGraphSink<Object>[]) sinks;
+		final Object[] rootStates = new Object[targets.length];
+		for (int i = 0; i < targets.length; i++) {
+			rootStates[i] = targets[i].root(graph);
+		}
+
+		final Deque<Step> steps = new ArrayDeque<>();
+		steps.push(new Step(graph, rootStates));
+		while (!steps.isEmpty()) {
+			final Step step = steps.pop();
+			final ParseItem item = step.item;
+			if (item.isValue()) {
+				final ParseValue value = item.asValue();
+				for (int i = 0; i < targets.length; i++) {
+					targets[i].value(value, value.slice(), step.states[i]);
+				}
+				continue;
+			}
+			if (item.isReference()) {
+				for (int i = 0; i < targets.length; i++) {
+					targets[i].reference(item.asReference(), step.states[i]);
+				}
+				continue;
+			}
+
+			final ParseGraph current = item.asGraph();
+			for (int i = 0; i < targets.length; i++) {
+				targets[i].graph(current, step.states[i]);
+			}
+			if (current.head == null) {
+				continue;
+			}
+			final Object[] headStates = new Object[targets.length];
+			final Object[] tailStates = new Object[targets.length];
+			for (int i = 0; i < targets.length; i++) {
+				headStates[i] = targets[i].head(current, step.states[i]);
+				tailStates[i] = targets[i].tail(current, step.states[i]);
+			}
+			// Push the head first, so the tail is visited first
+			steps.push(new Step(current.head, headStates));
+			steps.push(new Step(current.tail, tailStates));
+		}
+	}
+
+	private static class Step {
+		private final ParseItem item;
+		private final Object[] states;
+
+		Step(final ParseItem item, final Object[] states) {
+			this.item = item;
+			this.states = states;
+		}
+	}
+}
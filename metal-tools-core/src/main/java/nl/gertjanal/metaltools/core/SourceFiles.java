@@ -0,0 +1,130 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.core;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Place the source data of a parse next to the generated pages, without copying it when that can be avoided.
+ *
+ * @author Gertjan Al.
+ */
+public class SourceFiles {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * How the source was placed at the destination.
+	 */
+	public enum Placement {
+		/** The destination is the source, or already has the same content */
+		UNCHANGED,
+		HARD_LINK,
+		SYMBOLIC_LINK,
+		/** The source was copied, because no link could be created */
+		COPY
+	}
+
+	/**
+	 * Make the content of the source available at the destination. A hard link is tried first, then a symbolic link,
+	 * and only when both fail (for example across file systems, or without the rights to create links) is the content copied,
+	 * with {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)} so the file system can copy it directly.
+	 */
+	public static Placement place(final Path source, final Path destination) throws IOException {
+		if (Files.exists(destination) && (Files.isSameFile(source, destination) || sameContent(source, destination))) {
+			return Placement.UNCHANGED;
+		}
+		Files.deleteIfExists(destination);
+		try {
+			Files.createLink(destination, source);
+			return Placement.HARD_LINK;
+		}
+		catch (final IOException | UnsupportedOperationException | SecurityException e) {
+			// Try the next way
+		}
+		try {
+			Files.createSymbolicLink(destination, source.toAbsolutePath());
+			return Placement.SYMBOLIC_LINK;
+		}
+		catch (final IOException | UnsupportedOperationException | SecurityException e) {
+			// Copy instead
+		}
+		try (FileChannel in = FileChannel.open(source, READ);
+			FileChannel out = FileChannel.open(destination, CREATE_NEW, WRITE)) {
+			final long size = in.size();
+			long position = 0;
+			while (position < size) {
+				position += in.transferTo(position, size - position, out);
+			}
+		}
+		return Placement.COPY;
+	}
+
+	/**
+	 * Write the data to the destination. The data goes to a temporary file next to the destination first, which then replaces
+	 * the destination itself, so a link left there by {@link #place(Path, Path)} is replaced instead of written through.
+	 */
+	public static void write(final InputStream data, final Path destination) throws IOException {
+		final Path parent = destination.toAbsolutePath().getParent();
+		final Path temp = Files.createTempFile(parent, destination.getFileName().toString(), ".tmp");
+		try {
+			Files.copy(data, temp, REPLACE_EXISTING);
+			Files.move(temp, destination, REPLACE_EXISTING);
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private static boolean sameContent(final Path left, final Path right) throws IOException {
+		try (FileChannel leftChannel = FileChannel.open(left, READ);
+			FileChannel rightChannel = FileChannel.open(right, READ)) {
+			if (leftChannel.size() != rightChannel.size()) {
+				return false;
+			}
+			final ByteBuffer leftBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+			final ByteBuffer rightBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+			while (true) {
+				leftBuffer.clear();
+				rightBuffer.clear();
+				final int read = leftChannel.read(leftBuffer);
+				if (read < 0) {
+					return true;
+				}
+				rightBuffer.limit(read);
+				while (rightBuffer.hasRemaining() && rightChannel.read(rightBuffer) >= 0) {
+					// Read as much of the right file as was read of the left file
+				}
+				leftBuffer.flip();
+				rightBuffer.flip();
+				if (!leftBuffer.equals(rightBuffer)) {
+					return false;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nl.gertjanal.metaltools.core.BatchGenerator.Job;
+import nl.gertjanal.metaltools.core.BatchGenerator.Result;
+
+class BatchGeneratorTest {
+
+	@TempDir
+	Path _dir;
+
+	@Test
+	void testGenerate() throws Exception {
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		final BatchGenerator generator = new BatchGenerator(_dir, 3, (graph, data, fileName, dir) -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(10);
+				if (fileName.equals("file13")) {
+					throw new IOException("Failed");
+				}
+				Files.createDirectories(dir.resolve(fileName + ".shards"));
+				Files.write(dir.resolve(fileName + ".shards/0.js"), fileName.getBytes(UTF_8));
+				Files.write(dir.resolve(fileName + ".htm"), fileName.getBytes(UTF_8));
+			}
+			finally {
+				running.decrementAndGet();
+			}
+		});
+		final Stream<Job> jobs = IntStream.range(0, 20).mapToObj(i -> new Job("file" + i, null, null));
+		final List<Result> results = generator.generate(jobs);
+
+		assertEquals(20, results.size());
+		assertTrue(maxRunning.get() <= 3);
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals("file" + i, results.get(i).getName());
+			assertEquals(i != 13, results.get(i).isSuccess());
+			assertEquals(i != 13, Files.exists(_dir.resolve("file" + i + ".htm")));
+		}
+		assertEquals("Failed", results.get(13).getError().getMessage());
+		assertEquals("file7", new String(Files.readAllBytes(_dir.resolve("file7.shards/0.js")), UTF_8));
+
+		// No temporary directories are left behind
+		try (Stream<Path> files = Files.list(_dir)) {
+			assertFalse(files.anyMatch(file -> file.getFileName().toString().startsWith(".")));
+		}
+	}
+
+	@Test
+	void testError() throws Exception {
+		final BatchGenerator generator = new BatchGenerator(_dir, 2, (graph, data, fileName, dir) -> {
+			if (fileName.equals("deep")) {
+				throw new StackOverflowError();
+			}
+			Files.write(dir.resolve(fileName + ".htm"), fileName.getBytes(UTF_8));
+		});
+		final List<Result> results = generator.generate(Stream.of(new Job("deep", null, null), new Job("flat", null, null)));
+
+		assertFalse(results.get(0).isSuccess());
+		assertTrue(results.get(0).getError() instanceof StackOverflowError);
+		assertTrue(results.get(1).isSuccess());
+		assertTrue(Files.exists(_dir.resolve("flat.htm")));
+	}
+
+	@Test
+	void testRemoveStale() throws Exception {
+		final AtomicInteger run = new AtomicInteger();
+		final BatchGenerator generator = new BatchGenerator(_dir, 2, (graph, data, fileName, dir) -> {
+			Files.write(dir.resolve(fileName + ".htm"), fileName.getBytes(UTF_8));
+			Files.createDirectories(dir.resolve(fileName + ".shards"));
+			Files.write(dir.resolve(fileName + ".shards/0.js"), fileName.getBytes(UTF_8));
+			if (run.get() == 0) {
+				Files.write(dir.resolve(fileName + ".shards/1.js"), fileName.getBytes(UTF_8));
+				Files.createDirectories(dir.resolve(fileName + ".deltas"));
+				Files.write(dir.resolve(fileName + ".deltas/1.js"), fileName.getBytes(UTF_8));
+			}
+		});
+		generator.generate(Stream.of(new Job("data", null, null), new Job("data.old", null, null)));
+		Files.write(_dir.resolve("other.htm"), new byte[0]);
+		run.incrementAndGet();
+		final List<Result> results = generator.generate(Stream.of(new Job("data", null, null)));
+
+		assertTrue(results.get(0).isSuccess());
+		assertTrue(Files.exists(_dir.resolve("data.htm")));
+		assertTrue(Files.exists(_dir.resolve("data.shards/0.js")));
+		assertFalse(Files.exists(_dir.resolve("data.shards/1.js")));
+		assertFalse(Files.exists(_dir.resolve("data.deltas")));
+		// The files of other jobs stay, also of a job whose name starts with the name
+		assertTrue(Files.exists(_dir.resolve("data.old.shards/1.js")));
+		assertTrue(Files.exists(_dir.resolve("other.htm")));
+	}
+}
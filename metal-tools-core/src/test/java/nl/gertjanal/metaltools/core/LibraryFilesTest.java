@@ -0,0 +1,76 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LibraryFilesTest {
+
+	@TempDir
+	Path _dir;
+
+	@Test
+	void testExtract() throws Exception {
+		final Path libs = _dir.resolve("libs");
+		LibraryFiles.extract(getClass(), "/libraries/", libs);
+		assertEquals("var a = 1;\n", read(libs.resolve("a.js")));
+		assertEquals("body { color: red; }\n", read(libs.resolve("sub/b.css")));
+		assertEquals(2, Files.readAllLines(libs.resolve(LibraryFiles.MANIFEST)).size());
+
+		// Extracted files are not written again
+		final FileTime time = FileTime.fromMillis(1_000_000_000_000L);
+		Files.setLastModifiedTime(libs.resolve("a.js"), time);
+		Files.delete(libs.resolve("sub/b.css"));
+		LibraryFiles.extract(getClass(), "/libraries/", libs);
+		assertEquals(time, Files.getLastModifiedTime(libs.resolve("a.js")));
+		assertEquals("body { color: red; }\n", read(libs.resolve("sub/b.css")));
+	}
+
+	@Test
+	void testExtractFromJar() throws Exception {
+		final Path jar = _dir.resolve("libraries.jar");
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+			out.putNextEntry(new ZipEntry("libs/"));
+			out.putNextEntry(new ZipEntry("libs/c.js"));
+			out.write("var c = 3;".getBytes(UTF_8));
+			out.closeEntry();
+			out.putNextEntry(new ZipEntry("other.js"));
+			out.closeEntry();
+		}
+		final Path libs = _dir.resolve("libs");
+		LibraryFiles.extract(URI.create("jar:" + jar.toUri() + "!/libs/"), libs);
+		assertEquals("var c = 3;", read(libs.resolve("c.js")));
+		assertFalse(Files.exists(libs.resolve("other.js")));
+	}
+
+	private String read(final Path file) throws Exception {
+		return new String(Files.readAllBytes(file), UTF_8);
+	}
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.gertjanal.metaltools.core;
+
+import static java.math.BigInteger.valueOf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import static io.parsingdata.metal.Shorthand.def;
+import static io.parsingdata.metal.Shorthand.last;
+import static io.parsingdata.metal.Shorthand.ref;
+import static io.parsingdata.metal.Shorthand.rep;
+import static io.parsingdata.metal.Shorthand.seq;
+import static io.parsingdata.metal.util.EncodingFactory.le;
+import static io.parsingdata.metal.util.EnvironmentFactory.env;
+import static io.parsingdata.metal.util.ParseStateFactory.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.parsingdata.metal.data.ParseGraph;
+import io.parsingdata.metal.data.ParseState;
+import io.parsingdata.metal.data.ParseValue;
+import io.parsingdata.metal.data.Slice;
+import io.parsingdata.metal.token.Token;
+import io.parsingdata.metal.util.InMemoryByteStream;
+
+class ParseGraphWalkerTest {
+	private static final Token STRING = seq(def("length", 1), def("text", last(ref("length"))));
+
+	@Test
+	void testWalkInParseOrder() {
+		final ParseGraph graph = rep(STRING).parse(env(stream(1, 'a', 2, 'b', 'c'), le())).get().order;
+		final List<String> values = new ArrayList<>();
+		final ParseGraphStatistics statistics = new ParseGraphStatistics();
+		ParseGraphWalker.walk(graph, new ParseGraphSink<Void>() {
+			@Override
+			public Void root(final ParseGraph graph) {
+				return null;
+			}
+
+			@Override
+			public void value(final ParseValue value, final Slice slice, final Void state) {
+				values.add(value.name + "@" + slice.offset);
+			}
+		}, statistics);
+
+		assertEquals("[length@0, text@1, length@2, text@3]", values.toString());
+		assertEquals(4, statistics.getValueCount());
+		assertEquals(valueOf(5), statistics.getValueBytes());
+		assertEquals(0, statistics.getReferenceCount());
+		assertEquals(3, statistics.getMaxDepth());
+	}
+
+	@Test
+	void testWalkDeepGraph() {
+		// A long rep results in a tail chain that is too deep to walk recursively
+		final int size = 200_000;
+		final ParseState parseState = ParseState.createFromByteStream(new InMemoryByteStream(new byte[size]));
+		final ParseGraph graph = rep(def("byte", 1)).parse(env(parseState, le())).get().order;
+
+		final ParseGraphStatistics statistics = new ParseGraphStatistics();
+		ParseGraphWalker.walk(graph, statistics);
+		assertEquals(size, statistics.getValueCount());
+	}
+}
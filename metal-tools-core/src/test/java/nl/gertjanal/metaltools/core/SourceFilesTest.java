@@ -0,0 +1,72 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nl.gertjanal.metaltools.core.SourceFiles.Placement;
+
+class SourceFilesTest {
+
+	@TempDir
+	Path _dir;
+
+	@Test
+	void testPlace() throws Exception {
+		final byte[] data = { 1, 2, 3, 4 };
+		final Path source = Files.write(_dir.resolve("source"), data);
+		final Path destination = _dir.resolve("destination");
+
+		final Placement placement = SourceFiles.place(source, destination);
+		assertNotEquals(Placement.UNCHANGED, placement);
+		assertArrayEquals(data, Files.readAllBytes(destination));
+		assertEquals(Placement.UNCHANGED, SourceFiles.place(source, destination));
+		assertEquals(Placement.UNCHANGED, SourceFiles.place(source, source));
+	}
+
+	@Test
+	void testSameContent() throws Exception {
+		final Path source = Files.write(_dir.resolve("source"), new byte[] { 1, 2, 3, 4 });
+		final Path same = Files.write(_dir.resolve("same"), new byte[] { 1, 2, 3, 4 });
+		final Path other = Files.write(_dir.resolve("other"), new byte[] { 1, 2, 3, 5 });
+
+		assertEquals(Placement.UNCHANGED, SourceFiles.place(source, same));
+		assertNotEquals(Placement.UNCHANGED, SourceFiles.place(source, other));
+		assertArrayEquals(new byte[] { 1, 2, 3, 4 }, Files.readAllBytes(other));
+	}
+
+	@Test
+	void testWriteReplacesLink() throws Exception {
+		final Path source = Files.write(_dir.resolve("source"), new byte[] { 1, 2, 3, 4 });
+		final Path destination = _dir.resolve("destination");
+		assertNotEquals(Placement.COPY, SourceFiles.place(source, destination));
+
+		SourceFiles.write(new ByteArrayInputStream(new byte[] { 5, 6 }), destination);
+		assertArrayEquals(new byte[] { 5, 6 }, Files.readAllBytes(destination));
+		assertArrayEquals(new byte[] { 1, 2, 3, 4 }, Files.readAllBytes(source));
+		assertEquals(0, Files.list(_dir).filter(path -> path.getFileName().toString().endsWith(".tmp")).count());
+	}
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The bytes of the source data that are covered by at least one definition of a {@link DefinitionIndex}, as sorted,
+ * disjoint runs. From the runs follow the number of covered bytes, the largest gaps (bytes no definition explains) and
+ * a minimap: the covered percentage of every part of the data, for the viewer to draw.
+ * <p>
+ * The runs are built in one pass over the index. A definition is merged with the runs it overlaps, which are found with a
+ * binary search, so the definitions of a later parse can be added in any order. The memory used is proportional to the
+ * number of runs, not to the size of the data. Definitions with an offset or length beyond a long are left out.
+ *
+ * @author Gertjan Al.
+ */
+public class Coverage {
+
+	static final int GAP_COUNT = 20;
+	static final int MINIMAP_SIZE = 1024;
+	private static final int INITIAL_CAPACITY = 1 << 10;
+
+	private final long _dataSize;
+	private long _end;
+	private long[] _starts = new long[INITIAL_CAPACITY];
+	private long[] _ends = new long[INITIAL_CAPACITY];
+	private int _runCount;
+
+	/**
+	 * @param size the size of the source data, or -1 when it is unknown: the data then ends with the last definition
+	 */
+	public Coverage(final DefinitionIndex index, final long size) {
+		this(size);
+		add(index);
+	}
+
+	/**
+	 * Start without definitions; add them with {@link #add(DefinitionIndex)}.
+	 *
+	 * @param size the size of the source data, or -1 when it is unknown: the data then ends with the last definition
+	 */
+	Coverage(final long size) {
+		_dataSize = size;
+	}
+
+	/**
+	 * Add the definitions of the index, for example the definitions that were parsed since the previous add.
+	 */
+	void add(final DefinitionIndex index) {
+		for (int i = 0; i < index.size(); i++) {
+			if (!index.isOverflow(i)) {
+				final long offset = index.getOffset(i);
+				final long definitionEnd = offset + Math.min(index.getLength(i), Long.MAX_VALUE - offset);
+				add(offset, definitionEnd);
+				_end = Math.max(_end, definitionEnd);
+			}
+		}
+	}
+
+	private void add(long start, long end) {
+		if (end <= start) {
+			return;
+		}
+		// The runs before first end before the definition; the runs before last start at or before its end
+		final int last = search(_starts, end);
+		final int first = search(_ends, start - 1);
+		if (first < last) {
+			// Merge with the runs it overlaps or touches
+			start = Math.min(start, _starts[first]);
+			end = Math.max(end, _ends[last - 1]);
+		}
+		else if (_runCount == _starts.length) {
+			_starts = Arrays.copyOf(_starts, _runCount + (_runCount >> 1));
+			_ends = Arrays.copyOf(_ends, _runCount + (_runCount >> 1));
+		}
+		final int removed = last - first - 1;
+		System.arraycopy(_starts, last, _starts, last - removed, _runCount - last);
+		System.arraycopy(_ends, last, _ends, last - removed, _runCount - last);
+		_runCount -= removed;
+		_starts[first] = start;
+		_ends[first] = end;
+	}
+
+	/**
+	 * @return the number of runs of which the value in the sorted values is at or below the key
+	 */
+	private int search(final long[] values, final long key) {
+		int low = 0;
+		int high = _runCount;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (values[middle] <= key) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @return the size of the data: the given size, or the end of the last definition
+	 */
+	public long getSize() {
+		return _dataSize < 0 ? _end : _dataSize;
+	}
+
+	/**
+	 * @return the number of bytes of the data that are covered by at least one definition
+	 */
+	public long getCoveredBytes() {
+		final long size = getSize();
+		long covered = 0;
+		for (int i = 0; i < _runCount; i++) {
+			covered += Math.max(0, Math.min(_ends[i], size) - _starts[i]);
+		}
+		return covered;
+	}
+
+	/**
+	 * @return the number of disjoint runs of covered bytes
+	 */
+	public int getRunCount() {
+		return _runCount;
+	}
+
+	public long getRunStart(final int index) {
+		return _starts[index];
+	}
+
+	/**
+	 * @return the end of the run, exclusive
+	 */
+	public long getRunEnd(final int index) {
+		return _ends[index];
+	}
+
+	/**
+	 * @return at most {@code count} of the largest ranges within the data that no definition covers, as pairs of offset
+	 * and length, the largest first; gaps of the same length are ordered by offset
+	 */
+	public List<long[]> getGaps(final int count) {
+		final Comparator<long[]> largest = Comparator.comparingLong((long[] gap) -> -gap[1]).thenComparingLong(gap -> gap[0]);
+		// The smallest of the largest gaps so far is on top
+		final PriorityQueue<long[]> gaps = new PriorityQueue<>(largest.reversed());
+		final long size = getSize();
+		long position = 0;
+		for (int i = 0; i <= _runCount && position < size; i++) {
+			final long end = i < _runCount ? Math.min(_starts[i], size) : size;
+			if (end > position && count > 0) {
+				gaps.add(new long[] { position, end - position });
+				if (gaps.size() > count) {
+					gaps.poll();
+				}
+			}
+			position = i < _runCount ? Math.max(position, _ends[i]) : size;
+		}
+		final List<long[]> sorted = new ArrayList<>(gaps);
+		sorted.sort(largest);
+		return sorted;
+	}
+
+	/**
+	 * @return the number of bytes in every part of the minimap; the last part may be smaller
+	 */
+	public long getMinimapScale() {
+		return Math.max(1, (getSize() + MINIMAP_SIZE - 1) / MINIMAP_SIZE);
+	}
+
+	/**
+	 * Divide the data in at most {@value #MINIMAP_SIZE} parts of {@link #getMinimapScale()} bytes.
+	 *
+	 * @return the covered percentage of every part: 0 only when no byte is covered, 100 only when all bytes are
+	 */
+	public int[] getMinimap() {
+		final long size = getSize();
+		final long scale = getMinimapScale();
+		final int partCount = (int) ((size + scale - 1) / scale);
+		final long[] covered = new long[partCount];
+		for (int i = 0; i < _runCount && _starts[i] < size; i++) {
+			final long end = Math.min(_ends[i], size);
+			for (long part = _starts[i] / scale; part * scale < end; part++) {
+				covered[(int) part] += Math.min(end, (part + 1) * scale) - Math.max(_starts[i], part * scale);
+			}
+		}
+		final int[] minimap = new int[partCount];
+		for (int part = 0; part < partCount; part++) {
+			final long partSize = Math.min(scale, size - part * scale);
+			final int percentage = (int) (covered[part] * 100.0 / partSize);
+			minimap[part] = covered[part] == 0 || covered[part] == partSize ? percentage : Math.max(1, Math.min(99, percentage));
+		}
+		return minimap;
+	}
+
+	/**
+	 * Write the coverage as JSON: {@code {"size": size, "covered": bytes, "runs": count, "gaps": [[offset, length], ...],
+	 * "minimapScale": bytes, "minimap": [percentage, ...]}}, with the {@value #GAP_COUNT} largest gaps.
+	 */
+	public void write(final Writer writer) throws IOException {
+		writer.write("{\"size\": " + JsHexViewer.number(getSize()));
+		writer.write(", \"covered\": " + JsHexViewer.number(getCoveredBytes()));
+		writer.write(", \"runs\": " + _runCount);
+		writer.write(", \"gaps\": [");
+		final List<long[]> gaps = getGaps(GAP_COUNT);
+		for (int i = 0; i < gaps.size(); i++) {
+			writer.write((i > 0 ? ", [" : "[") + JsHexViewer.number(gaps.get(i)[0]) + ", " + JsHexViewer.number(gaps.get(i)[1]) + "]");
+		}
+		writer.write("], \"minimapScale\": " + JsHexViewer.number(getMinimapScale()));
+		writer.write(", \"minimap\": [");
+		final int[] minimap = getMinimap();
+		for (int i = 0; i < minimap.length; i++) {
+			writer.write((i > 0 ? ", " : "") + minimap[i]);
+		}
+		writer.write("]}");
+	}
+}
@@ -0,0 +1,384 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Columnar index of the definitions shown in the hex viewer.
+ *
+ * Definitions are stored in primitive arrays (offset, length and the node of the name in a {@link NameDictionary}),
+ * sorted by row. Within a row the definitions keep the order in which they were parsed.
+ * After sorting, the names are numbered in order of their first appearance.
+ * The parse position of every definition is kept, so a version of the definitions in parse order can be computed.
+ * Offsets and lengths that do not fit in a long are kept separately as {@link BigInteger}.
+ *
+ * @author Gertjan Al.
+ */
+public class DefinitionIndex {
+
+	private static final long OVERFLOW = -1;
+	private static final int INITIAL_CAPACITY = 1 << 10;
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final long _columnCount;
+	private NameDictionary _names = new NameDictionary();
+	private final Map<Integer, BigInteger[]> _overflow = new HashMap<>();
+
+	private long[] _offsets = new long[INITIAL_CAPACITY];
+	private long[] _lengths = new long[INITIAL_CAPACITY];
+	private int[] _nameIndices = new int[INITIAL_CAPACITY];
+	private int[] _parsePositions;
+	private int _size;
+
+	DefinitionIndex(final long columnCount) {
+		_columnCount = columnCount;
+	}
+
+	/**
+	 * Add a definition. Definitions must be added in the order in which they were parsed.
+	 */
+	void add(final BigInteger offset, final BigInteger length, final String name) {
+		ensureCapacity(_size + 1);
+		if (offset.bitLength() < Long.SIZE && length.bitLength() < Long.SIZE) {
+			_offsets[_size] = offset.longValue();
+			_lengths[_size] = length.longValue();
+		}
+		else {
+			_offsets[_size] = OVERFLOW;
+			_lengths[_size] = OVERFLOW;
+			_overflow.put(_size, new BigInteger[] { offset, length });
+		}
+		_nameIndices[_size] = _names.add(name);
+		_size++;
+	}
+
+	/**
+	 * Add all definitions of the other index, that was not sorted yet. Its definitions must have been parsed after
+	 * the definitions of this index.
+	 */
+	void append(final DefinitionIndex other) {
+		ensureCapacity(_size + other._size);
+		final int[] nodes = new int[other._names.size()];
+		Arrays.fill(nodes, -1);
+		for (int i = 0; i < other._size; i++) {
+			final int node = other._nameIndices[i];
+			if (nodes[node] == -1) {
+				nodes[node] = _names.add(other._names.getName(node));
+			}
+			_offsets[_size] = other._offsets[i];
+			_lengths[_size] = other._lengths[i];
+			_nameIndices[_size] = nodes[node];
+			if (other.isOverflow(i)) {
+				_overflow.put(_size, other._overflow.get(i));
+			}
+			_size++;
+		}
+	}
+
+	private void ensureCapacity(final int size) {
+		if (size > _offsets.length) {
+			final int capacity = Math.max(size, _offsets.length + (_offsets.length >> 1));
+			_offsets = Arrays.copyOf(_offsets, capacity);
+			_lengths = Arrays.copyOf(_lengths, capacity);
+			_nameIndices = Arrays.copyOf(_nameIndices, capacity);
+		}
+	}
+
+	/**
+	 * Sort the definitions by row, keeping the parse order within a row.
+	 */
+	void sort() {
+		sort(null);
+	}
+
+	/**
+	 * Sort the definitions by row, keeping the parse order within a row.
+	 *
+	 * @param pool to sort large indices in parallel, or null to sort on the current thread
+	 */
+	void sort(final ForkJoinPool pool) {
+		boolean sorted = true;
+		for (int i = 1; i < _size && sorted; i++) {
+			sorted = compareRows(i - 1, i) <= 0;
+		}
+		if (!sorted) {
+			sortByRow(pool);
+		}
+		renumberNames();
+	}
+
+	private void sortByRow(final ForkJoinPool pool) {
+		final int[] order = new int[_size];
+		for (int i = 0; i < _size; i++) {
+			order[i] = i;
+		}
+		if (pool == null) {
+			mergeSort(order, new int[_size], 0, _size);
+		}
+		else {
+			pool.invoke(new SortTask(order, new int[_size], 0, _size));
+		}
+
+		final long[] offsets = new long[_size];
+		final long[] lengths = new long[_size];
+		final int[] nameIndices = new int[_size];
+		final Map<Integer, BigInteger[]> overflow = new HashMap<>();
+		for (int i = 0; i < _size; i++) {
+			offsets[i] = _offsets[order[i]];
+			lengths[i] = _lengths[order[i]];
+			nameIndices[i] = _nameIndices[order[i]];
+			if (offsets[i] == OVERFLOW) {
+				overflow.put(i, _overflow.get(order[i]));
+			}
+		}
+		_offsets = offsets;
+		_lengths = lengths;
+		_nameIndices = nameIndices;
+		_parsePositions = order;
+		_overflow.clear();
+		_overflow.putAll(overflow);
+	}
+
+	private void renumberNames() {
+		final NameDictionary names = new NameDictionary();
+		final int[] nodes = new int[_names.size()];
+		Arrays.fill(nodes, -1);
+		for (int i = 0; i < _size; i++) {
+			final int node = _nameIndices[i];
+			if (nodes[node] == -1) {
+				nodes[node] = names.add(_names.getName(node));
+			}
+			_nameIndices[i] = nodes[node];
+		}
+		_names = names;
+	}
+
+	/**
+	 * @return the position of the definition in the order in which the definitions were added
+	 */
+	public int getParsePosition(final int index) {
+		return _parsePositions == null ? index : _parsePositions[index];
+	}
+
+	/**
+	 * @return a hash over all definitions in parse order
+	 */
+	public long version() {
+		return version(_size);
+	}
+
+	/**
+	 * Compute a hash over the first definitions in parse order. When a later parse only adds definitions,
+	 * the version of its first {@code count} definitions equals the version of the earlier parse.
+	 *
+	 * @param count the number of definitions, in parse order, to include
+	 * @return FNV-1a hash of the offsets, lengths and names of the definitions
+	 */
+	public long version(final int count) {
+		return version(FNV_OFFSET_BASIS, count);
+	}
+
+	/**
+	 * Continue the version of the definitions that were parsed before the definitions of this index. The result equals
+	 * the version of one index with all definitions, so the earlier definitions do not have to be hashed again.
+	 *
+	 * @param version the version of the earlier definitions
+	 */
+	long extendVersion(final long version) {
+		return version(version, _size);
+	}
+
+	private long version(final long version, final int count) {
+		final int[] indices = new int[count];
+		for (int i = 0; i < _size; i++) {
+			final int position = getParsePosition(i);
+			if (position < count) {
+				indices[position] = i;
+			}
+		}
+		long hash = version;
+		for (final int i : indices) {
+			hash = (hash ^ (isOverflow(i) ? getBigOffset(i).hashCode() : _offsets[i])) * FNV_PRIME;
+			hash = (hash ^ (isOverflow(i) ? getBigLength(i).hashCode() : _lengths[i])) * FNV_PRIME;
+			hash = (hash ^ getName(i).hashCode()) * FNV_PRIME;
+		}
+		return hash;
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	public long getColumnCount() {
+		return _columnCount;
+	}
+
+	/**
+	 * @return true if the offset or length of the definition does not fit in a long
+	 */
+	public boolean isOverflow(final int index) {
+		return _offsets[index] == OVERFLOW;
+	}
+
+	/**
+	 * @return the offset, or -1 if it does not fit in a long; see {@link #getBigOffset(int)}
+	 */
+	public long getOffset(final int index) {
+		return _offsets[index];
+	}
+
+	/**
+	 * @return the length, or -1 if the definition overflows; see {@link #getBigLength(int)}
+	 */
+	public long getLength(final int index) {
+		return _lengths[index];
+	}
+
+	public BigInteger getBigOffset(final int index) {
+		return isOverflow(index) ? _overflow.get(index)[0] : BigInteger.valueOf(_offsets[index]);
+	}
+
+	public BigInteger getBigLength(final int index) {
+		return isOverflow(index) ? _overflow.get(index)[1] : BigInteger.valueOf(_lengths[index]);
+	}
+
+	/**
+	 * @return the node of the name of the definition in {@link #getNames()}
+	 */
+	public int getNameId(final int index) {
+		return _nameIndices[index];
+	}
+
+	public String getName(final int index) {
+		return _names.getName(_nameIndices[index]);
+	}
+
+	public NameDictionary getNames() {
+		return _names;
+	}
+
+	/**
+	 * @return the row of the definition, or -1 if it does not fit in a long; see {@link #getBigRow(int)}
+	 */
+	public long getRow(final int index) {
+		return isOverflow(index) ? OVERFLOW : _offsets[index] / _columnCount;
+	}
+
+	public BigInteger getBigRow(final int index) {
+		return getBigOffset(index).divide(BigInteger.valueOf(_columnCount));
+	}
+
+	/**
+	 * Find the first definition of a row using a binary search.
+	 *
+	 * @return the index of the first definition in the row, or (-(insertion point) - 1) when the row has no definitions
+	 */
+	public int indexOfRow(final long row) {
+		int low = 0;
+		int high = _size;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (isOverflow(middle) || getRow(middle) >= row) {
+				high = middle;
+			}
+			else {
+				low = middle + 1;
+			}
+		}
+		return low < _size && !isOverflow(low) && getRow(low) == row ? low : -low - 1;
+	}
+
+	/**
+	 * @return true if the definition at the index starts a new row
+	 */
+	public boolean isRowStart(final int index) {
+		return index == 0 || compareRows(index - 1, index) != 0;
+	}
+
+	private int compareRows(final int left, final int right) {
+		final boolean leftOverflow = isOverflow(left);
+		final boolean rightOverflow = isOverflow(right);
+		if (!leftOverflow && !rightOverflow) {
+			return Long.compare(getRow(left), getRow(right));
+		}
+		if (leftOverflow && rightOverflow) {
+			return getBigRow(left).compareTo(getBigRow(right));
+		}
+		// An offset that does not fit in a long is always beyond any other row
+		return leftOverflow ? 1 : -1;
+	}
+
+	private void mergeSort(final int[] order, final int[] buffer, final int from, final int to) {
+		if (to - from < 2) {
+			return;
+		}
+		final int middle = (from + to) >>> 1;
+		mergeSort(order, buffer, from, middle);
+		mergeSort(order, buffer, middle, to);
+		merge(order, buffer, from, middle, to);
+	}
+
+	private void merge(final int[] order, final int[] buffer, final int from, final int middle, final int to) {
+		if (compareRows(order[middle - 1], order[middle]) <= 0) {
+			return;
+		}
+		System.arraycopy(order, from, buffer, from, to - from);
+		for (int i = from, left = from, right = middle; i < to; i++) {
+			if (right >= to || (left < middle && compareRows(buffer[left], buffer[right]) <= 0)) {
+				order[i] = buffer[left++];
+			}
+			else {
+				order[i] = buffer[right++];
+			}
+		}
+	}
+
+	private class SortTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private static final int SPLIT_SIZE = 1 << 13;
+
+		private final int[] _order;
+		private final int[] _buffer;
+		private final int _from;
+		private final int _to;
+
+		SortTask(final int[] order, final int[] buffer, final int from, final int to) {
+			_order = order;
+			_buffer = buffer;
+			_from = from;
+			_to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (_to - _from <= SPLIT_SIZE) {
+				mergeSort(_order, _buffer, _from, _to);
+				return;
+			}
+			final int middle = (_from + _to) >>> 1;
+			invokeAll(new SortTask(_order, _buffer, _from, middle), new SortTask(_order, _buffer, middle, _to));
+			merge(_order, _buffer, _from, middle, _to);
+		}
+	}
+}
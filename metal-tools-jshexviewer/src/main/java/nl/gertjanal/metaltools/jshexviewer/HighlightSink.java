@@ -0,0 +1,75 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.gertjanal.metaltools.jshexviewer;
+
+import io.parsingdata.metal.data.ByteStreamSource;
+import io.parsingdata.metal.data.ParseGraph;
+import io.parsingdata.metal.data.ParseValue;
+import io.parsingdata.metal.data.Slice;
+import io.parsingdata.metal.token.Def;
+import io.parsingdata.metal.token.Until;
+import nl.gertjanal.metaltools.core.ParseGraphSink;
+import nl.gertjanal.metaltools.core.ParseGraphWalker;
+
+/**
+ * Collect the highlighted definitions of a {@link ParseGraph} in a {@link DefinitionIndex}, while it is walked
+ * by the {@link ParseGraphWalker}. Only Def and Until values that were read from the byte stream are highlighted.
+ *
+ * @author Gertjan Al.
+ */
+public class HighlightSink implements ParseGraphSink<Void> {
+
+	private final DefinitionIndex _index;
+
+	public HighlightSink() {
+		this(JsHexViewer.COLUMN_COUNT);
+	}
+
+	HighlightSink(final long columnCount) {
+		this(new DefinitionIndex(columnCount));
+	}
+
+	/**
+	 * Add the definitions to the index, after the definitions it already has.
+	 */
+	HighlightSink(final DefinitionIndex index) {
+		_index = index;
+	}
+
+	@Override
+	public Void root(final ParseGraph graph) {
+		return null;
+	}
+
+	@Override
+	public void value(final ParseValue value, final Slice slice, final Void state) {
+		highlight(_index, value, slice);
+	}
+
+	static void highlight(final DefinitionIndex index, final ParseValue value, final Slice slice) {
+		if ((value.getDefinition() instanceof Def || value.getDefinition() instanceof Until) && slice.source instanceof ByteStreamSource) {
+			index.add(slice.offset, slice.length, value.name);
+		}
+	}
+
+	/**
+	 * @return the definitions, sorted by row
+	 */
+	public DefinitionIndex getIndex() {
+		_index.sort();
+		return _index;
+	}
+}
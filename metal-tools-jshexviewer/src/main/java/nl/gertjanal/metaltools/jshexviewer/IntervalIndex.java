@@ -0,0 +1,259 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+import java.util.Arrays;
+
+/**
+ * Find the definitions of a {@link DefinitionIndex} that cover an offset or overlap a range, including nested
+ * and long definitions that start many rows earlier.
+ * <p>
+ * The definitions are sorted by offset and stored in a centered interval tree. Every node has a center, the offset
+ * of its middle definition, and keeps the definitions that contain the center twice: sorted by offset and sorted by end.
+ * Definitions that end before the center go to the left subtree, the ones that start after it to the right subtree.
+ * A query follows at most two paths down the tree and only scans the definitions of a node while they overlap,
+ * so it visits O(log n + k) nodes and definitions for k results.
+ * Definitions with an offset or length beyond a long are not indexed.
+ *
+ * @author Gertjan Al.
+ */
+public class IntervalIndex {
+
+	private final int[] _indices;
+	private final long[] _starts;
+	private final long[] _ends;
+	private final int[] _byStart;
+	private final int[] _byEnd;
+	private final long[] _centers;
+	private final int[] _lefts;
+	private final int[] _rights;
+	private final int[] _nodeFrom;
+	private final int[] _nodeTo;
+	private final int _root;
+	private int _nodeCount;
+
+	public IntervalIndex(final DefinitionIndex index) {
+		int size = 0;
+		final int[] order = new int[index.size()];
+		for (int i = 0; i < index.size(); i++) {
+			if (!index.isOverflow(i) && index.getOffset(i) + index.getLength(i) >= 0) {
+				order[size++] = i;
+			}
+		}
+		_indices = Arrays.copyOf(order, size);
+		_starts = new long[size];
+		_ends = new long[size];
+		for (int i = 0; i < size; i++) {
+			_starts[i] = index.getOffset(_indices[i]);
+		}
+		// The definitions are sorted by row already, so most merges are skipped
+		mergeSort(new int[size], new long[size], 0, size);
+		for (int i = 0; i < size; i++) {
+			_ends[i] = _starts[i] + index.getLength(_indices[i]);
+		}
+		_byStart = new int[size];
+		_byEnd = new int[size];
+		_centers = new long[size];
+		_lefts = new int[size];
+		_rights = new int[size];
+		_nodeFrom = new int[size];
+		_nodeTo = new int[size];
+		for (int i = 0; i < size; i++) {
+			_byStart[i] = i;
+		}
+		_root = build(0, size, new int[size]);
+	}
+
+	/**
+	 * Build the subtree of the positions [from, to) of {@link #_byStart}, which are sorted by offset. The positions are
+	 * reordered to the definitions of the left subtree, of the node itself and of the right subtree.
+	 *
+	 * @return the node, or -1 for an empty subtree
+	 */
+	private int build(final int from, final int to, final int[] buffer) {
+		if (from >= to) {
+			return -1;
+		}
+		final long center = _starts[_byStart[(from + to) >>> 1]];
+		int left = from;
+		int here = 0;
+		int right = 0;
+		for (int i = from; i < to; i++) {
+			final int position = _byStart[i];
+			if (_ends[position] < center) {
+				_byStart[left++] = position;
+			}
+			else if (_starts[position] <= center) {
+				buffer[here++] = position;
+			}
+			else {
+				buffer[to - ++right] = position;
+			}
+		}
+		// The right positions were stored backwards from the end of the buffer
+		System.arraycopy(buffer, 0, _byStart, left, here);
+		for (int i = 0; i < right; i++) {
+			_byStart[left + here + i] = buffer[to - 1 - i];
+		}
+		final int node = _nodeCount++;
+		_centers[node] = center;
+		_nodeFrom[node] = left;
+		_nodeTo[node] = left + here;
+		System.arraycopy(_byStart, left, _byEnd, left, here);
+		sortByEnd(buffer, left, left + here);
+		_lefts[node] = build(from, left, buffer);
+		_rights[node] = build(left + here, to, buffer);
+		return node;
+	}
+
+	/**
+	 * Sort the positions [from, to) of {@link #_byEnd} by descending end.
+	 */
+	private void sortByEnd(final int[] buffer, final int from, final int to) {
+		if (to - from < 2) {
+			return;
+		}
+		final int middle = (from + to) >>> 1;
+		sortByEnd(buffer, from, middle);
+		sortByEnd(buffer, middle, to);
+		if (_ends[_byEnd[middle - 1]] >= _ends[_byEnd[middle]]) {
+			return;
+		}
+		System.arraycopy(_byEnd, from, buffer, from, to - from);
+		for (int i = from, left = from, right = middle; i < to; i++) {
+			if (right >= to || (left < middle && _ends[buffer[left]] >= _ends[buffer[right]])) {
+				_byEnd[i] = buffer[left++];
+			}
+			else {
+				_byEnd[i] = buffer[right++];
+			}
+		}
+	}
+
+	public int size() {
+		return _indices.length;
+	}
+
+	/**
+	 * @return the indices in the {@link DefinitionIndex} of the definitions that contain the offset, ordered by offset
+	 */
+	public int[] stab(final long offset) {
+		return query(offset, offset + 1);
+	}
+
+	/**
+	 * @return the indices in the {@link DefinitionIndex} of the definitions that overlap [from, to), ordered by offset
+	 */
+	public int[] query(final long from, final long to) {
+		final Results results = positions(from, to);
+		final int[] indices = new int[results.size];
+		for (int i = 0; i < results.size; i++) {
+			indices[i] = _indices[results.positions[i]];
+		}
+		return indices;
+	}
+
+	/**
+	 * @return the index in the {@link DefinitionIndex} of the shortest definition that contains the offset,
+	 * or -1 if no definition contains it. Of definitions with the same offset and length, the one parsed last is returned.
+	 */
+	public int innermost(final long offset) {
+		final Results results = positions(offset, offset + 1);
+		int innermost = -1;
+		for (int i = 0; i < results.size; i++) {
+			final int position = results.positions[i];
+			if (innermost == -1 || _ends[position] - _starts[position] <= _ends[innermost] - _starts[innermost]) {
+				innermost = position;
+			}
+		}
+		return innermost == -1 ? -1 : _indices[innermost];
+	}
+
+	private Results positions(final long from, final long to) {
+		final Results results = new Results();
+		if (from < to) {
+			query(_root, from, to, results);
+			// The positions are in offset order
+			Arrays.sort(results.positions, 0, results.size);
+		}
+		return results;
+	}
+
+	private void query(final int node, final long from, final long to, final Results results) {
+		if (node == -1) {
+			return;
+		}
+		final long center = _centers[node];
+		if (to <= center) {
+			// The definitions of the node end at or after the center; they overlap while they start before the range ends
+			for (int i = _nodeFrom[node]; i < _nodeTo[node] && _starts[_byStart[i]] < to; i++) {
+				results.add(_byStart[i]);
+			}
+			query(_lefts[node], from, to, results);
+		}
+		else if (from >= center) {
+			// The definitions of the node start at or before the center; they overlap while they end after the range starts
+			for (int i = _nodeFrom[node]; i < _nodeTo[node] && _ends[_byEnd[i]] > from; i++) {
+				results.add(_byEnd[i]);
+			}
+			query(_rights[node], from, to, results);
+		}
+		else {
+			for (int i = _nodeFrom[node]; i < _nodeTo[node]; i++) {
+				results.add(_byStart[i]);
+			}
+			query(_lefts[node], from, to, results);
+			query(_rights[node], from, to, results);
+		}
+	}
+
+	private void mergeSort(final int[] buffer, final long[] startBuffer, final int from, final int to) {
+		if (to - from < 2) {
+			return;
+		}
+		final int middle = (from + to) >>> 1;
+		mergeSort(buffer, startBuffer, from, middle);
+		mergeSort(buffer, startBuffer, middle, to);
+		if (_starts[middle - 1] <= _starts[middle]) {
+			return;
+		}
+		System.arraycopy(_indices, from, buffer, from, to - from);
+		System.arraycopy(_starts, from, startBuffer, from, to - from);
+		for (int i = from, left = from, right = middle; i < to; i++) {
+			if (right >= to || (left < middle && startBuffer[left] <= startBuffer[right])) {
+				_indices[i] = buffer[left];
+				_starts[i] = startBuffer[left++];
+			}
+			else {
+				_indices[i] = buffer[right];
+				_starts[i] = startBuffer[right++];
+			}
+		}
+	}
+
+	private static class Results {
+		private int[] positions = new int[16];
+		private int size;
+
+		private void add(final int position) {
+			if (size == positions.length) {
+				positions = Arrays.copyOf(positions, size << 1);
+			}
+			positions[size++] = position;
+		}
+	}
+}
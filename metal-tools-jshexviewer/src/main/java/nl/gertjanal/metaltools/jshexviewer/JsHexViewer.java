@@ -16,44 +16,46 @@
 
 package nl.gertjanal.metaltools.jshexviewer;
 
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.nio.file.FileVisitResult.CONTINUE;
-import static java.nio.file.Files.copy;
-import static java.nio.file.Files.createDirectory;
-import static java.nio.file.Files.exists;
-import static java.nio.file.Files.walkFileTree;
-import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
-
-import static org.apache.commons.io.IOUtils.copy;
-import static org.apache.commons.io.IOUtils.write;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.lang.reflect.Field;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.math.BigInteger;
 import java.net.URISyntaxException;
-import java.nio.file.FileVisitResult;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
-import io.parsingdata.metal.data.ByteStreamSource;
 import io.parsingdata.metal.data.ParseGraph;
-import io.parsingdata.metal.data.ParseItem;
-import io.parsingdata.metal.data.ParseValue;
-import io.parsingdata.metal.data.Slice;
-import io.parsingdata.metal.expression.value.CoreValue;
-import io.parsingdata.metal.token.Def;
-import io.parsingdata.metal.token.Until;
+import nl.gertjanal.metaltools.core.BatchGenerator;
+import nl.gertjanal.metaltools.core.BatchGenerator.Job;
+import nl.gertjanal.metaltools.core.BatchGenerator.Result;
+import nl.gertjanal.metaltools.core.LibraryFiles;
+import nl.gertjanal.metaltools.core.ParseGraphWalker;
+import nl.gertjanal.metaltools.core.SourceFiles;
 
 /**
  * Generate a HTML page to view the Metal ParseGraph in a hex viewer.
@@ -62,38 +64,339 @@ import io.parsingdata.metal.token.Until;
  */
 public class JsHexViewer {
 
-	private static final BigInteger COLUMN_COUNT = BigInteger.valueOf(1 << 5);
-	private static final Function<ParseValue, Slice> SLICE;
-	static {
-	    try {
-            final Field slice = CoreValue.class.getDeclaredField("slice");
-            slice.setAccessible(true);
-
-	        SLICE = (parseValue) -> {
-                try {
-                    return (Slice)slice.get(parseValue);
-                }
-                catch (IllegalArgumentException | IllegalAccessException e) {
-                    throw new IllegalStateException(e);
-                }
-            };
-	    } catch(final Exception e) {
-	        throw new IllegalStateException(e);
-	    }
-	}
+	static final long COLUMN_COUNT = 1 << 5;
+	static final long PAGE_SIZE = 1 << 10;
+	static final long SHARD_SIZE = PAGE_SIZE << 6;
+	private static final byte[] BINARY_MAGIC = { 'J', 'S', 'H', 'V' };
+	private static final int BINARY_VERSION = 3;
+	private static final long MAX_SAFE_INTEGER = (1L << 53) - 1;
+	private static final int BINARY_BUFFER_SIZE = 1 << 16;
+	private static final Pattern VERSION = Pattern.compile("var versionUpdate = '(\\p{XDigit}+)';var baseVersionUpdate = '(\\p{XDigit}+)';"
+		+ "var definitionCountUpdate = (\\d+);var deltaCountUpdate = (\\d+);");
+	private static final Pattern GENERATED = Pattern.compile("\\s*var (\\w+) = .*<!-- generated -->.*");
 
 	public static void generate(final ParseGraph graph) throws URISyntaxException, IOException {
 		generate(graph, "jsHexViewer");
 	}
 
 	public static String generateJs(final ParseGraph graph) throws IOException {
-		final Map<Long, LinkedList<Definition>> map = new TreeMap<>();
-		step(graph, map);
+		final StringWriter writer = new StringWriter();
+		generateJs(graph, writer);
+		return writer.toString();
+	}
+
+	public static void generateJs(final ParseGraph graph, final OutputStream out) throws IOException {
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+		generateJs(graph, writer);
+		writer.flush();
+	}
+
+	/**
+	 * Write the definitions of the graph to the writer, row by row.
+	 * The definitions are kept in a compact {@link DefinitionIndex}, so the output is never held in memory as a whole.
+	 */
+	public static void generateJs(final ParseGraph graph, final Writer writer) throws IOException {
+		generateJs(index(graph), writer);
+	}
+
+	public static void generateJs(final DefinitionIndex index, final Writer writer) throws IOException {
+		writer.write("/* generated by JsHexViewer */");
+		writer.write("var versionUpdate = '" + toHex(index.version()) + "';");
+		writer.write("var columnCountUpdate = " + index.getColumnCount() + ";");
+		writer.write("var namesUpdate = ");
+		writeNames(index.getNames(), writer);
+		writer.write(";");
+		writer.write("var locationsUpdate = ");
+		writeLocations(index, writer);
+		writer.write(";");
+		writer.write("var dataUpdate = ");
+		writeData(index, writer);
+		writer.write(";");
+	}
+
+	public static void generateBinary(final ParseGraph graph, final OutputStream out) throws IOException {
+		generateBinary(index(graph), out);
+	}
+
+	/**
+	 * Write the definitions in a binary format that the viewer reads straight into typed arrays.
+	 * All numbers are little endian. The layout is:
+	 * <ul>
+	 * <li>header of 32 bytes: magic 'JSHV', version, column count, definition count, name count,
+	 * string table size, exact value count and 4 reserved bytes (uint32 each)</li>
+	 * <li>offsets (float64 per definition)</li>
+	 * <li>lengths (float64 per definition)</li>
+	 * <li>name ids (uint32 per definition)</li>
+	 * <li>parent name ids, -1 for none (int32 per name, see {@link NameDictionary})</li>
+	 * <li>segment end positions in the string table (uint32 per name)</li>
+	 * <li>string table of the name segments (UTF-8)</li>
+	 * <li>exact values: for every definition with an offset or length beyond 2^53, the index of the definition (uint32),
+	 * the size (uint32) and the offset and length as decimal text separated by a space (UTF-8)</li>
+	 * </ul>
+	 * Offsets and lengths as float64 are exact up to 2^53; beyond that the exact values are used.
+	 */
+	public static void generateBinary(final DefinitionIndex index, final OutputStream out) throws IOException {
+		final byte[][] names = new byte[index.getNames().size()][];
+		int stringTableSize = 0;
+		for (int i = 0; i < names.length; i++) {
+			names[i] = index.getNames().getSegment(i).getBytes(UTF_8);
+			stringTableSize += names[i].length;
+		}
+
+		final List<Integer> exact = new ArrayList<>();
+		for (int i = 0; i < index.size(); i++) {
+			if (!isSafe(index, i)) {
+				exact.add(i);
+			}
+		}
+
+		final ByteBuffer buffer = ByteBuffer.allocate(BINARY_BUFFER_SIZE).order(LITTLE_ENDIAN);
+		buffer.put(BINARY_MAGIC)
+			.putInt(BINARY_VERSION)
+			.putInt((int) index.getColumnCount())
+			.putInt(index.size())
+			.putInt(names.length)
+			.putInt(stringTableSize)
+			.putInt(exact.size())
+			.putInt(0);
+		for (int i = 0; i < index.size(); i++) {
+			reserve(buffer, Double.BYTES, out).putDouble(index.isOverflow(i) ? index.getBigOffset(i).doubleValue() : index.getOffset(i));
+		}
+		for (int i = 0; i < index.size(); i++) {
+			reserve(buffer, Double.BYTES, out).putDouble(index.isOverflow(i) ? index.getBigLength(i).doubleValue() : index.getLength(i));
+		}
+		for (int i = 0; i < index.size(); i++) {
+			reserve(buffer, Integer.BYTES, out).putInt(index.getNameId(i));
+		}
+		for (int i = 0; i < names.length; i++) {
+			reserve(buffer, Integer.BYTES, out).putInt(index.getNames().getParent(i));
+		}
+		int end = 0;
+		for (final byte[] name : names) {
+			end += name.length;
+			reserve(buffer, Integer.BYTES, out).putInt(end);
+		}
+		for (final byte[] name : names) {
+			put(buffer, name, out);
+		}
+		for (final int i : exact) {
+			final byte[] value = (index.getBigOffset(i) + " " + index.getBigLength(i)).getBytes(UTF_8);
+			reserve(buffer, Integer.BYTES, out).putInt(i);
+			reserve(buffer, Integer.BYTES, out).putInt(value.length);
+			put(buffer, value, out);
+		}
+		out.write(buffer.array(), 0, buffer.position());
+		out.flush();
+	}
+
+	private static void put(final ByteBuffer buffer, final byte[] bytes, final OutputStream out) throws IOException {
+		if (buffer.remaining() < bytes.length) {
+			out.write(buffer.array(), 0, buffer.position());
+			buffer.clear();
+			out.write(bytes);
+		}
+		else {
+			buffer.put(bytes);
+		}
+	}
+
+	private static ByteBuffer reserve(final ByteBuffer buffer, final int size, final OutputStream out) throws IOException {
+		if (buffer.remaining() < size) {
+			out.write(buffer.array(), 0, buffer.position());
+			buffer.clear();
+		}
+		return buffer;
+	}
+
+	/**
+	 * Write the definitions in shards of 64 pages, so the viewer only loads the definitions of the pages it shows.
+	 * <p>
+	 * The shards are written to the directory {@code <fileName>.shards}, one script per shard that has definitions.
+	 * A shard contains the definitions that start in it, and the definitions of the previous shard that run into it.
+	 * Definitions longer than a shard are listed as spans in the manifest {@code <fileName>.manifest.js} instead,
+	 * together with the indices of the written shards.
+	 */
+	public static void generateShards(final DefinitionIndex index, final File dir, final String fileName) throws IOException {
+		final File shardDir = new File(dir, fileName + ".shards");
+		if (!shardDir.isDirectory() && !shardDir.mkdirs()) {
+			throw new IOException("Could not create directory " + shardDir);
+		}
+		clear(shardDir);
+
+		final List<Long> shards = new ArrayList<>();
+		final List<Integer> spans = new ArrayList<>();
+		List<Integer> carry = new ArrayList<>();
+		long carryShard = -1;
+		int i = 0;
+		while (i < index.size() || !carry.isEmpty()) {
+			final long shard = i < index.size() && !index.isOverflow(i) ? index.getOffset(i) / SHARD_SIZE : carryShard;
+			if (!carry.isEmpty() && carryShard < shard) {
+				// Definitions of the previous shard run into a shard without definitions of its own
+				writeShard(index, shardDir, carryShard, carry, i, i);
+				shards.add(carryShard);
+				carry = new ArrayList<>();
+				continue;
+			}
+			if (i < index.size() && index.isOverflow(i)) {
+				// Definitions beyond a long offset can not be sharded
+				spans.add(i++);
+				continue;
+			}
 
-		return "/* generated by JsHexViewer */" +
-			"var columnCountUpdate = " + COLUMN_COUNT.longValue() + ";" +
-			"var locationsUpdate = " + map.keySet().toString() + ";" +
-			"var dataUpdate = " + writeData(map) + ";";
+			int end = i;
+			final List<Integer> next = new ArrayList<>();
+			while (end < index.size() && !index.isOverflow(end) && index.getOffset(end) / SHARD_SIZE == shard) {
+				if (index.getLength(end) > SHARD_SIZE) {
+					spans.add(end);
+				}
+				else if (index.getOffset(end) + index.getLength(end) > (shard + 1) * SHARD_SIZE) {
+					next.add(end);
+				}
+				end++;
+			}
+			writeShard(index, shardDir, shard, carry, i, end);
+			shards.add(shard);
+			carry = next;
+			carryShard = shard + 1;
+			i = end;
+		}
+
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(dir, fileName + ".manifest.js")), UTF_8))) {
+			writer.write("/* generated by JsHexViewer */");
+			writer.write("var manifestUpdate = {");
+			writer.write("columnCount: " + index.getColumnCount());
+			writer.write(", shardSize: " + SHARD_SIZE);
+			writer.write(", shardUrl: '" + shardDir.getName() + "/'");
+			writer.write(", definitionCount: " + index.size());
+			writer.write(", names: ");
+			writeNames(index.getNames(), writer);
+			writer.write(", shards: [");
+			for (int shard = 0; shard < shards.size(); shard++) {
+				writer.write((shard > 0 ? ", " : "") + shards.get(shard));
+			}
+			writer.write("], spans: [");
+			for (int span = 0; span < spans.size(); span++) {
+				writer.write(span > 0 ? ", " : "");
+				writeDefinition(index, spans.get(span), writer);
+			}
+			writer.write("]};");
+		}
+	}
+
+	private static void writeShard(final DefinitionIndex index, final File shardDir, final long shard, final List<Integer> carry, final int from, final int to) throws IOException {
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(shardDir, shard + ".js")), UTF_8))) {
+			writer.write("/* generated by JsHexViewer */");
+			writer.write("shardUpdate(" + shard + ", [");
+			boolean first = true;
+			for (final int i : carry) {
+				writer.write(first ? "" : ", ");
+				writeDefinition(index, i, writer);
+				first = false;
+			}
+			for (int i = from; i < to; i++) {
+				if (index.getLength(i) <= SHARD_SIZE) {
+					writer.write(first ? "" : ", ");
+					writeDefinition(index, i, writer);
+					first = false;
+				}
+			}
+			writer.write("]);");
+		}
+	}
+
+	/**
+	 * Write the definitions that were added after the first {@code from} definitions in parse order, as delta
+	 * {@code <delta>.js} in the directory. The delta has its own names, as the ids of the full output may have changed.
+	 */
+	static void writeDelta(final DefinitionIndex index, final int from, final File deltaDir, final int delta) throws IOException {
+		if (!deltaDir.isDirectory() && !deltaDir.mkdirs()) {
+			throw new IOException("Could not create directory " + deltaDir);
+		}
+		final NameDictionary names = new NameDictionary();
+		final List<Integer> added = new ArrayList<>();
+		final List<Integer> nameIds = new ArrayList<>();
+		for (int i = 0; i < index.size(); i++) {
+			if (index.getParsePosition(i) >= from) {
+				added.add(i);
+				nameIds.add(names.add(index.getName(i)));
+			}
+		}
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(deltaDir, delta + ".js")), UTF_8))) {
+			writer.write("/* generated by JsHexViewer */");
+			writer.write("deltaUpdate(" + delta + ", ");
+			writeNames(names, writer);
+			writer.write(", [");
+			for (int i = 0; i < added.size(); i++) {
+				writer.write(i > 0 ? ", " : "");
+				writeDefinition(index, added.get(i), nameIds.get(i), writer);
+			}
+			writer.write("]);");
+		}
+	}
+
+	/**
+	 * Write the {@link PageSummary} of the definitions as a script that calls {@code summaryUpdate} with the summary.
+	 */
+	public static void generateSummary(final PageSummary summary, final Writer writer) throws IOException {
+		writer.write("/* generated by JsHexViewer */");
+		writer.write("summaryUpdate(");
+		summary.write(writer);
+		writer.write(");");
+	}
+
+	/**
+	 * Write the {@link Coverage} of the data as a script that calls {@code coverageUpdate} with the coverage.
+	 */
+	public static void generateCoverage(final Coverage coverage, final Writer writer) throws IOException {
+		writer.write("/* generated by JsHexViewer */");
+		writer.write("coverageUpdate(");
+		coverage.write(writer);
+		writer.write(");");
+	}
+
+	static void writeSummary(final PageSummary summary, final String fileName, final File dir) throws IOException {
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(dir, fileName + ".summary.js")), UTF_8))) {
+			generateSummary(summary, writer);
+		}
+	}
+
+	static void writeCoverage(final Coverage coverage, final String fileName, final File dir) throws IOException {
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(dir, fileName + ".coverage.js")), UTF_8))) {
+			generateCoverage(coverage, writer);
+		}
+	}
+
+	/**
+	 * @return the size of the source data in the directory, or -1 when it is not there
+	 */
+	static long dataSize(final String fileName, final File dir) {
+		final File dataFile = new File(dir, fileName);
+		return dataFile.isFile() ? dataFile.length() : -1;
+	}
+
+	private static void clear(final File dir) throws IOException {
+		final File[] previous = dir.listFiles((directory, name) -> name.endsWith(".js"));
+		if (previous != null) {
+			for (final File file : previous) {
+				Files.delete(file.toPath());
+			}
+		}
+	}
+
+	/**
+	 * Collect the highlighted definitions of the graph in a {@link DefinitionIndex}.
+	 */
+	public static DefinitionIndex index(final ParseGraph graph) {
+		final HighlightSink highlights = new HighlightSink();
+		ParseGraphWalker.walk(graph, highlights);
+		return highlights.getIndex();
+	}
+
+	/**
+	 * Collect the highlighted definitions of the graph in parallel on the pool. The result is the same as {@link #index(ParseGraph)}.
+	 */
+	public static DefinitionIndex index(final ParseGraph graph, final ForkJoinPool pool) {
+		return ParallelIndexer.index(graph, COLUMN_COUNT, pool);
 	}
 
 	public static void generate(final ParseGraph graph, final String fileName) throws URISyntaxException, IOException {
@@ -106,122 +409,303 @@ public class JsHexViewer {
 	}
 
 	public static void generate(final ParseGraph graph, final InputStream data, final String fileName, final File dir, final boolean copyLibs) throws URISyntaxException, IOException {
-		// Generate highlights
-		try (FileOutputStream fos = new FileOutputStream(new File(dir, fileName + ".js"))) {
-			write(generateJs(graph), fos, UTF_8);
-		}
+		generate(graph, data, fileName, dir, copyLibs, new Output[0]);
+	}
+
+	public static void generate(final ParseGraph graph, final InputStream data, final String fileName, final File dir, final boolean copyLibs, final Output... outputs) throws URISyntaxException, IOException {
+		generate(index(graph), data, fileName, dir, copyLibs, outputs);
+	}
 
+	/**
+	 * Generate the hex viewer for definitions that were already collected, for example with a {@link HighlightSink}
+	 * that walked the graph together with other sinks.
+	 */
+	public static void generate(final DefinitionIndex index, final InputStream data, final String fileName, final File dir, final boolean copyLibs, final Output... outputs) throws URISyntaxException, IOException {
 		// Save content
 		if (data != null) {
-			try (FileOutputStream fos = new FileOutputStream(new File(dir, fileName))) {
-				copy(data, fos);
+			SourceFiles.write(data, new File(dir, fileName).toPath());
+		}
+		generateViewer(index, fileName, dir, copyLibs, outputs);
+	}
+
+	public static void generate(final ParseGraph graph, final Path data, final String fileName, final Path dir, final boolean copyLibs, final Output... outputs) throws URISyntaxException, IOException {
+		generate(index(graph), data, fileName, dir, copyLibs, outputs);
+	}
+
+	/**
+	 * Generate the hex viewer for a source file. The source is linked into the directory instead of copied when possible,
+	 * see {@link SourceFiles#place(Path, Path)}.
+	 */
+	public static void generate(final DefinitionIndex index, final Path data, final String fileName, final Path dir, final boolean copyLibs, final Output... outputs) throws URISyntaxException, IOException {
+		if (data != null) {
+			SourceFiles.place(data, dir.resolve(fileName));
+		}
+		generateViewer(index, fileName, dir.toFile(), copyLibs, outputs);
+	}
+
+	/**
+	 * Generate the hex viewers of many graphs into one directory, concurrently. The libraries are extracted once,
+	 * see {@link BatchGenerator} for how the jobs are run.
+	 *
+	 * @return the result of every job, in the order of the stream
+	 */
+	public static List<Result> generateAll(final Stream<Job> jobs, final Path dir, final int parallelism, final Output... outputs) throws URISyntaxException, IOException, InterruptedException {
+		Files.createDirectories(dir);
+		copyLibs(dir.toFile());
+		return new BatchGenerator(dir, parallelism, (graph, data, fileName, jobDir) -> generate(graph, data, fileName, jobDir, false, outputs)).generate(jobs);
+	}
+
+	private static void generateViewer(final DefinitionIndex index, final String fileName, final File dir, final boolean copyLibs, final Output... outputs) throws URISyntaxException, IOException {
+		final Set<Output> selected = outputs.length == 0 ? EnumSet.noneOf(Output.class) : EnumSet.copyOf(Arrays.asList(outputs));
+
+		// The viewer only polls the small version file, and reloads the definitions when the version changes
+		final File versionFile = new File(dir, fileName + ".version.js");
+		final File deltaDir = new File(dir, fileName + ".deltas");
+		final Version previous = selected.contains(Output.DELTAS) && !selected.contains(Output.SHARDS) ? Version.read(versionFile) : null;
+		final String version = toHex(index.version());
+
+		// The pages of interest and hotspots change with every new definition, also when only a delta is written
+		writeSummary(new PageSummary(index, ForkJoinPool.commonPool()), fileName, dir);
+		writeCoverage(new Coverage(index, dataSize(fileName, dir)), fileName, dir);
+		if (previous != null && previous.definitionCount <= index.size() && previous.version.equals(toHex(index.version(previous.definitionCount)))) {
+			// Definitions were only added since the previous generate
+			if (previous.definitionCount < index.size()) {
+				writeDelta(index, previous.definitionCount, deltaDir, previous.deltaCount + 1);
+				new Version(version, previous.baseVersion, index.size(), previous.deltaCount + 1).write(versionFile);
 			}
 		}
+		else {
+			// Generate highlights
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(dir, fileName + ".js")), UTF_8))) {
+				generateJs(index, writer);
+			}
+			if (selected.contains(Output.BINARY)) {
+				try (OutputStream out = new BufferedOutputStream(new FileOutputStream(new File(dir, fileName + ".bin")))) {
+					generateBinary(index, out);
+				}
+			}
+			if (selected.contains(Output.SHARDS)) {
+				generateShards(index, dir, fileName);
+			}
+			clear(deltaDir);
+			new Version(version, version, index.size(), 0).write(versionFile);
+		}
 
 		// Generate html
-		final File file = new File(dir, fileName + ".htm");
-		try (FileWriter out = new FileWriter(file);
-			InputStream in = JsHexViewer.class.getResourceAsStream("/jsHexViewer/template.htm");
-			BufferedReader br = new BufferedReader(new InputStreamReader(in))) {
+		final Map<String, String> generated = new HashMap<>();
+		generated.put("dataUrl", fileName + ".js");
+		generated.put("binaryUrl", selected.contains(Output.BINARY) ? fileName + ".bin" : "");
+		generated.put("manifestUrl", selected.contains(Output.SHARDS) ? fileName + ".manifest.js" : "");
+		generated.put("versionUrl", fileName + ".version.js");
+		generated.put("deltaUrl", deltaDir.getName() + "/");
+		generated.put("summaryUrl", fileName + ".summary.js");
+		generated.put("coverageUrl", fileName + ".coverage.js");
+		try (FileWriter out = new FileWriter(new File(dir, fileName + ".htm"))) {
+			writeHtml(generated, out);
+		}
+
+		// Copy html libs
+		if (copyLibs) {
+			copyLibs(dir);
+		}
+	}
+
+	/**
+	 * Serve the hex viewer for the graph and its source data on a local webserver, instead of generating files.
+	 * The viewer reads only the definitions and bytes of the pages it shows, and is notified when
+	 * {@link JsHexViewerServer#update(ParseGraph)} is called.
+	 *
+	 * @param port the port to listen on, or 0 to use any free port
+	 * @return the running server; close it to stop serving
+	 */
+	public static JsHexViewerServer serve(final ParseGraph graph, final Path data, final int port) throws IOException {
+		return new JsHexViewerServer(index(graph), data, port);
+	}
+
+	/**
+	 * Write the template, with the value of every generated variable taken from the map. Missing values are left empty.
+	 */
+	static void writeHtml(final Map<String, String> generated, final Writer out) throws IOException {
+		try (InputStream in = JsHexViewer.class.getResourceAsStream("/jsHexViewer/template.htm");
+			BufferedReader br = new BufferedReader(new InputStreamReader(in, UTF_8))) {
 			String line;
 			while ((line = br.readLine()) != null) {
-				if (line.contains("<!-- generated -->")) {
-					if (line.trim().startsWith("var dataUrl =")) {
-						out.write("var dataUrl = '");
-						out.write(fileName + ".js");
-						out.write("';");
-					}
-				} else {
+				final Matcher matcher = GENERATED.matcher(line);
+				if (matcher.matches()) {
+					out.write("var " + matcher.group(1) + " = '");
+					out.write(generated.getOrDefault(matcher.group(1), ""));
+					out.write("';");
+				}
+				else {
 					out.write(line);
 				}
 				out.write('\n');
 			}
 		}
-
-		// Copy html libs
-		if (copyLibs) {
-			copyLibs(dir);
-		}
 	}
 
+	/**
+	 * Extract the libraries of the page into {@code libs} in the directory. Files that were extracted before
+	 * are skipped, see {@link LibraryFiles}; this also works when the libraries are packaged in a jar.
+	 */
 	public static void copyLibs(final File dir) throws URISyntaxException, IOException {
-		final File libsSource = new File(JsHexViewer.class.getResource("/jsHexViewer/libs/").toURI());
-		final File libsDestination = new File(dir, "libs");
-		libsDestination.mkdir();
-		final Path source = libsSource.toPath();
-		final Path destination = libsDestination.toPath();
-
-		walkFileTree(libsSource.toPath(), new SimpleFileVisitor<Path>() {
-			@Override
-			public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
-				throws IOException {
-				final Path targetPath = destination.resolve(source.relativize(dir));
-				if (!exists(targetPath)) {
-					createDirectory(targetPath);
+		LibraryFiles.extract(JsHexViewer.class, "/jsHexViewer/libs/", new File(dir, "libs").toPath());
+	}
+
+	private static void writeLocations(final DefinitionIndex index, final Writer writer) throws IOException {
+		writer.write("[");
+		for (int i = 0; i < index.size(); i++) {
+			if (index.isRowStart(i)) {
+				if (i > 0) {
+					writer.write(", ");
 				}
-				return CONTINUE;
+				writeRow(index, i, writer);
 			}
+		}
+		writer.write("]");
+	}
 
-			@Override
-			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
-				copy(file, destination.resolve(source.relativize(file)), REPLACE_EXISTING);
-				return CONTINUE;
+	private static void writeData(final DefinitionIndex index, final Writer writer) throws IOException {
+		writer.write("[");
+		for (int i = 0; i < index.size(); i++) {
+			if (index.isRowStart(i)) {
+				writer.write(i > 0 ? "],[" : "[");
 			}
-		});
+			else {
+				writer.write(", ");
+			}
+			writeDefinition(index, i, writer);
+		}
+		writer.write(index.size() > 0 ? "]]" : "]");
 	}
 
-	private static String writeData(final Map<Long, LinkedList<Definition>> map) throws IOException {
-	    final StringBuilder builder = new StringBuilder("[");
-		for (final Long row : map.keySet()) {
-			if (builder.length() > 1) {
-				builder.append(",");
-			}
-			builder.append(map.get(row).toString());
+	private static void writeRow(final DefinitionIndex index, final int i, final Writer writer) throws IOException {
+		writer.write(index.isOverflow(i) ? number(index.getBigRow(i)) : number(index.getRow(i)));
+	}
+
+	private static void writeDefinition(final DefinitionIndex index, final int i, final Writer writer) throws IOException {
+		writeDefinition(index, i, index.getNameId(i), writer);
+	}
+
+	private static void writeDefinition(final DefinitionIndex index, final int i, final int nameId, final Writer writer) throws IOException {
+		writer.write("[");
+		if (index.isOverflow(i)) {
+			writer.write(number(index.getBigOffset(i)));
+			writer.write(", ");
+			writer.write(number(index.getBigLength(i)));
 		}
-		return builder.append("]").toString();
+		else {
+			writer.write(number(index.getOffset(i)));
+			writer.write(", ");
+			writer.write(number(index.getLength(i)));
+		}
+		writer.write(", ");
+		writer.write(Integer.toString(nameId));
+		writer.write("]");
 	}
 
-	private static void step(final ParseItem item, final Map<Long, LinkedList<Definition>> map) {
-		if (!item.isGraph()) {
-            if (item.getDefinition() instanceof Def || item.getDefinition() instanceof Until) {
-				final ParseValue value = item.asValue();
-				if(SLICE.apply(value).source instanceof ByteStreamSource) {
-					getList(map, new Definition(value));
-				}
-			}
-			return;
+	/**
+	 * Write the dictionary as a list of [parent, segment] pairs, where the parent is the index of another pair.
+	 */
+	private static void writeNames(final NameDictionary names, final Writer writer) throws IOException {
+		writer.write("[");
+		for (int node = 0; node < names.size(); node++) {
+			writer.write(node > 0 ? ", [" : "[");
+			writer.write(Integer.toString(names.getParent(node)));
+			writer.write(", '");
+			writer.write(names.getSegment(node).replace("\\", "\\\\").replace("'", "\\'"));
+			writer.write("']");
 		}
-		if (item.asGraph().head == null) {
-			return;
+		writer.write("]");
+	}
+
+	/**
+	 * @return the number as a Javascript number, or, when it is beyond {@code 2^53} where Javascript numbers lose precision,
+	 * as an array of 32 bit digits with the most significant digit first, like {@code [64, 0, 0]} for {@code 2^70}
+	 */
+	static String number(final long value) {
+		return value <= MAX_SAFE_INTEGER ? Long.toString(value) : number(BigInteger.valueOf(value));
+	}
+
+	static String number(final BigInteger value) {
+		if (value.bitLength() <= 53) {
+			return value.toString();
 		}
-		step(item.asGraph().head, map);
-		step(item.asGraph().tail, map);
+		final StringBuilder digits = new StringBuilder("[");
+		for (int shift = (value.bitLength() - 1) / Integer.SIZE * Integer.SIZE; shift >= 0; shift -= Integer.SIZE) {
+			digits.append(digits.length() > 1 ? ", " : "").append(value.shiftRight(shift).longValue() & 0xffffffffL);
+		}
+		return digits.append(']').toString();
+	}
+
+	/**
+	 * @return true if the offset and length of the definition are exact as a Javascript number
+	 */
+	private static boolean isSafe(final DefinitionIndex index, final int i) {
+		return !index.isOverflow(i) && index.getOffset(i) <= MAX_SAFE_INTEGER && index.getLength(i) <= MAX_SAFE_INTEGER;
 	}
 
-	private static void getList(final Map<Long, LinkedList<Definition>> map, final Definition definition) {
-		final long row = definition._offset.divide(COLUMN_COUNT).longValue(); // TODO convert row to BigInteger?
-		LinkedList<Definition> list = map.get(row);
-		if (list == null) {
-			list = new LinkedList<>();
-			map.put(row, list);
+	/**
+	 * @return the value as a JSON string
+	 */
+	static String quote(final String value) {
+		final StringBuilder builder = new StringBuilder("\"");
+		for (final char c : value.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				builder.append('\\').append(c);
+			}
+			else if (c < 0x20) {
+				builder.append(String.format("\\u%04x", (int) c));
+			}
+			else {
+				builder.append(c);
+			}
 		}
-		list.addFirst(definition);
+		return builder.append('"').toString();
 	}
 
-	private static class Definition {
-		private final String _name;
-		private final BigInteger _offset;
-		private final BigInteger _length;
+	static String toHex(final long version) {
+		return String.format("%016x", version);
+	}
 
-		public Definition(final ParseValue value) {
-			_name = value.name;
-			_offset = SLICE.apply(value).offset;
-			_length = SLICE.apply(value).length;
+	/**
+	 * The state of the generated output, as written to {@code <fileName>.version.js}.
+	 */
+	static class Version {
+		private final String version;
+		private final String baseVersion;
+		private final int definitionCount;
+		private final int deltaCount;
+
+		Version(final String version, final String baseVersion, final int definitionCount, final int deltaCount) {
+			this.version = version;
+			this.baseVersion = baseVersion;
+			this.definitionCount = definitionCount;
+			this.deltaCount = deltaCount;
 		}
 
-		@Override
-		public String toString() {
-			return "[" + _offset + ", " + _length + ", '" + _name + "']";
+		/**
+		 * @return the version of a previous generate, or null if there is none
+		 */
+		private static Version read(final File file) throws IOException {
+			if (!file.isFile()) {
+				return null;
+			}
+			final Matcher matcher = VERSION.matcher(new String(Files.readAllBytes(file.toPath()), UTF_8));
+			if (!matcher.find()) {
+				return null;
+			}
+			return new Version(matcher.group(1), matcher.group(2), Integer.parseInt(matcher.group(3)), Integer.parseInt(matcher.group(4)));
+		}
+
+		void write(final File file) throws IOException {
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), UTF_8))) {
+				writer.write("/* generated by JsHexViewer */");
+				writer.write("var versionUpdate = '" + version + "';");
+				writer.write("var baseVersionUpdate = '" + baseVersion + "';");
+				writer.write("var definitionCountUpdate = " + definitionCount + ";");
+				writer.write("var deltaCountUpdate = " + deltaCount + ";");
+			}
 		}
 	}
 }
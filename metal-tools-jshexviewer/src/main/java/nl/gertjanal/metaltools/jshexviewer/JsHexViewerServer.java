@@ -0,0 +1,368 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.apache.commons.io.IOUtils.copy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.parsingdata.metal.data.ParseGraph;
+
+/**
+ * Local webserver for the hex viewer, started with {@link JsHexViewer#serve(ParseGraph, Path, int)}.
+ * <p>
+ * Instead of loading generated scripts from disk, the viewer asks the server for what it shows:
+ * <ul>
+ * <li>{@code /} the viewer page, and {@code /libs/} its libraries</li>
+ * <li>{@code /data} the source data, with support for HTTP Range requests</li>
+ * <li>{@code /manifest} the column count, shard size and names of the definitions (JSON)</li>
+ * <li>{@code /definitions?from=&to=} the definitions that overlap the byte range, as [offset, length, name id] (JSON)</li>
+ * <li>{@code /summary} the pages of interest and hotspots, see {@link PageSummary} (JSON)</li>
+ * <li>{@code /coverage} the bytes of the data that no definition covers, see {@link Coverage} (JSON)</li>
+ * <li>{@code /version?since=} waits until the version of the definitions differs from {@code since} (long poll)</li>
+ * </ul>
+ * Definitions with an offset beyond a long are not served.
+ *
+ * @author Gertjan Al.
+ */
+public class JsHexViewerServer implements Closeable {
+
+	private static final long POLL_TIMEOUT = TimeUnit.SECONDS.toMillis(25);
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+	private final Path _data;
+	private final HttpServer _server;
+	private final ExecutorService _executor;
+	private final Object _lock = new Object();
+	private Definitions _definitions;
+
+	JsHexViewerServer(final DefinitionIndex index, final Path data, final int port) throws IOException {
+		_data = data;
+		_definitions = new Definitions(index);
+		_server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		// Long polls block their thread, so the pool is not bounded
+		_executor = Executors.newCachedThreadPool(runnable -> {
+			final Thread thread = new Thread(runnable, "JsHexViewerServer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		_server.setExecutor(_executor);
+		_server.createContext("/", this::handle);
+		_server.start();
+	}
+
+	/**
+	 * @return the port the server listens on
+	 */
+	public int getPort() {
+		return _server.getAddress().getPort();
+	}
+
+	/**
+	 * Show the definitions of the graph; viewers that wait for a new version are notified.
+	 */
+	public void update(final ParseGraph graph) {
+		update(JsHexViewer.index(graph));
+	}
+
+	public void update(final DefinitionIndex index) {
+		final Definitions definitions = new Definitions(index);
+		synchronized (_lock) {
+			_definitions = definitions;
+			_lock.notifyAll();
+		}
+	}
+
+	@Override
+	public void close() {
+		_server.stop(0);
+		_executor.shutdownNow();
+	}
+
+	private void handle(final HttpExchange exchange) throws IOException {
+		try {
+			final String path = exchange.getRequestURI().getPath();
+			final Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+			if (path.equals("/")) {
+				final Map<String, String> generated = new HashMap<>();
+				generated.put("serverUrl", "/");
+				final StringWriter writer = new StringWriter();
+				JsHexViewer.writeHtml(generated, writer);
+				send(exchange, 200, "text/html", writer.toString());
+			}
+			else if (path.startsWith("/libs/") && !path.contains("..")) {
+				sendResource(exchange, "/jsHexViewer" + path);
+			}
+			else if (path.equals("/data")) {
+				sendData(exchange);
+			}
+			else if (path.equals("/manifest")) {
+				send(exchange, 200, "application/json", definitions().manifest(_data));
+			}
+			else if (path.equals("/definitions")) {
+				final long from = Long.parseLong(query.getOrDefault("from", "0"));
+				final long to = Long.parseLong(query.getOrDefault("to", Long.toString(Long.MAX_VALUE)));
+				send(exchange, 200, "application/json", definitions().query(from, to));
+			}
+			else if (path.equals("/summary")) {
+				send(exchange, 200, "application/json", definitions().summary());
+			}
+			else if (path.equals("/coverage")) {
+				send(exchange, 200, "application/json", definitions().coverage(_data));
+			}
+			else if (path.equals("/version")) {
+				send(exchange, 200, "application/json", "{\"version\": \"" + awaitVersion(query.get("since")) + "\"}");
+			}
+			else {
+				send(exchange, 404, "text/plain", "Not found: " + path);
+			}
+		}
+		catch (final NumberFormatException e) {
+			send(exchange, 400, "text/plain", e.getMessage());
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			send(exchange, 503, "text/plain", "Server stopped");
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	private Definitions definitions() {
+		synchronized (_lock) {
+			return _definitions;
+		}
+	}
+
+	private String awaitVersion(final String since) throws InterruptedException {
+		final long end = System.currentTimeMillis() + POLL_TIMEOUT;
+		synchronized (_lock) {
+			long remaining = POLL_TIMEOUT;
+			while (_definitions.version.equals(since) && remaining > 0) {
+				_lock.wait(remaining);
+				remaining = end - System.currentTimeMillis();
+			}
+			return _definitions.version;
+		}
+	}
+
+	private void sendData(final HttpExchange exchange) throws IOException {
+		try (FileChannel channel = FileChannel.open(_data, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			long from = 0;
+			long to = size - 1;
+			final String range = exchange.getRequestHeaders().getFirst("Range");
+			exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+			exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+			if (range != null) {
+				final Matcher matcher = RANGE.matcher(range);
+				if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+					exchange.getResponseHeaders().set("Content-Range", "bytes */" + size);
+					exchange.sendResponseHeaders(416, -1);
+					return;
+				}
+				if (matcher.group(1).isEmpty()) {
+					// Suffix range: the last bytes of the file
+					from = Math.max(0, size - Long.parseLong(matcher.group(2)));
+				}
+				else {
+					from = Long.parseLong(matcher.group(1));
+					to = matcher.group(2).isEmpty() ? to : Math.min(to, Long.parseLong(matcher.group(2)));
+				}
+				if (from >= size || from > to) {
+					exchange.getResponseHeaders().set("Content-Range", "bytes */" + size);
+					exchange.sendResponseHeaders(416, -1);
+					return;
+				}
+				exchange.getResponseHeaders().set("Content-Range", "bytes " + from + "-" + to + "/" + size);
+			}
+			final long length = to - from + 1;
+			exchange.sendResponseHeaders(range == null ? 200 : 206, length == 0 ? -1 : length);
+			if (length == 0) {
+				return;
+			}
+			try (OutputStream out = exchange.getResponseBody()) {
+				final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+				long position = from;
+				while (position <= to) {
+					buffer.clear().limit((int) Math.min(BUFFER_SIZE, to - position + 1));
+					final int read = channel.read(buffer, position);
+					if (read < 0) {
+						break;
+					}
+					out.write(buffer.array(), 0, read);
+					position += read;
+				}
+			}
+		}
+	}
+
+	private void sendResource(final HttpExchange exchange, final String name) throws IOException {
+		try (InputStream in = JsHexViewerServer.class.getResourceAsStream(name)) {
+			if (in == null) {
+				send(exchange, 404, "text/plain", "Not found: " + name);
+				return;
+			}
+			exchange.getResponseHeaders().set("Content-Type", contentType(name));
+			exchange.sendResponseHeaders(200, 0);
+			try (OutputStream out = exchange.getResponseBody()) {
+				copy(in, out);
+			}
+		}
+	}
+
+	private static void send(final HttpExchange exchange, final int status, final String contentType, final String body) throws IOException {
+		final byte[] bytes = body.getBytes(UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+		exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static String contentType(final String name) {
+		if (name.endsWith(".js")) {
+			return "application/javascript";
+		}
+		if (name.endsWith(".css")) {
+			return "text/css";
+		}
+		if (name.endsWith(".png")) {
+			return "image/png";
+		}
+		if (name.endsWith(".gif")) {
+			return "image/gif";
+		}
+		return "application/octet-stream";
+	}
+
+	private static Map<String, String> query(final String query) throws IOException {
+		if (query == null || query.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		final Map<String, String> parameters = new HashMap<>();
+		for (final String parameter : query.split("&")) {
+			final int separator = parameter.indexOf('=');
+			if (separator > 0) {
+				parameters.put(URLDecoder.decode(parameter.substring(0, separator), "UTF-8"), URLDecoder.decode(parameter.substring(separator + 1), "UTF-8"));
+			}
+		}
+		return parameters;
+	}
+
+	/**
+	 * A sorted {@link DefinitionIndex} that answers range queries with an {@link IntervalIndex}.
+	 */
+	private static class Definitions {
+		private final DefinitionIndex index;
+		private final IntervalIndex intervals;
+		private final String version;
+		private String summary;
+		private String coverage;
+
+		private Definitions(final DefinitionIndex index) {
+			this.index = index;
+			this.intervals = new IntervalIndex(index);
+			this.version = String.format("%016x", index.version());
+		}
+
+		/**
+		 * @return the {@link PageSummary} as JSON, computed when it is first asked for
+		 */
+		private synchronized String summary() throws IOException {
+			if (summary == null) {
+				final StringWriter writer = new StringWriter();
+				new PageSummary(index, ForkJoinPool.commonPool()).write(writer);
+				summary = writer.toString();
+			}
+			return summary;
+		}
+
+		/**
+		 * @return the {@link Coverage} of the data as JSON, computed when it is first asked for
+		 */
+		private synchronized String coverage(final Path data) throws IOException {
+			if (coverage == null) {
+				final StringWriter writer = new StringWriter();
+				new Coverage(index, Files.size(data)).write(writer);
+				coverage = writer.toString();
+			}
+			return coverage;
+		}
+
+		private String manifest(final Path data) throws IOException {
+			final StringBuilder builder = new StringBuilder("{");
+			builder.append("\"version\": \"").append(version).append('"');
+			builder.append(", \"columnCount\": ").append(index.getColumnCount());
+			builder.append(", \"shardSize\": ").append(JsHexViewer.SHARD_SIZE);
+			builder.append(", \"definitionCount\": ").append(index.size());
+			builder.append(", \"dataName\": ").append(JsHexViewer.quote(data.getFileName().toString()));
+			builder.append(", \"dataSize\": ").append(Files.size(data));
+			builder.append(", \"names\": [");
+			final NameDictionary names = index.getNames();
+			for (int node = 0; node < names.size(); node++) {
+				builder.append(node > 0 ? ", [" : "[").append(names.getParent(node)).append(", ").append(JsHexViewer.quote(names.getSegment(node))).append(']');
+			}
+			builder.append("], \"shards\": [], \"spans\": []}");
+			return builder.toString();
+		}
+
+		/**
+		 * @return the definitions that overlap the range [from, to), in the order of the index
+		 */
+		private String query(final long from, final long to) {
+			final int[] overlapping = intervals.query(from, to);
+			// The viewer expects the order of the index, which keeps the parse order within a row
+			Arrays.sort(overlapping);
+			final StringBuilder builder = new StringBuilder("[");
+			for (final int i : overlapping) {
+				builder.append(builder.length() > 1 ? ", [" : "[").append(JsHexViewer.number(index.getOffset(i))).append(", ").append(JsHexViewer.number(index.getLength(i))).append(", ").append(index.getNameId(i)).append(']');
+			}
+			return builder.append(']').toString();
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prefix trie of dotted definition names, like {@code ZIP.files.localstoredfile.filesignature}.
+ *
+ * Every node is a single name segment with a reference to the node of its parent,
+ * so repeating prefixes are stored only once.
+ *
+ * @author Gertjan Al.
+ */
+public class NameDictionary {
+
+	public static final int ROOT = -1;
+
+	private final Map<String, Integer> _nodes = new HashMap<>();
+	private final List<String> _names = new ArrayList<>();
+	private final List<String> _segments = new ArrayList<>();
+	private int[] _parents = new int[16];
+
+	/**
+	 * Add the name and all its prefixes.
+	 *
+	 * @return the node of the full name
+	 */
+	public int add(final String name) {
+		final Integer node = _nodes.get(name);
+		if (node != null) {
+			return node;
+		}
+		final int separator = name.lastIndexOf('.');
+		final int parent = separator == -1 ? ROOT : add(name.substring(0, separator));
+		final int id = _names.size();
+		if (id == _parents.length) {
+			_parents = Arrays.copyOf(_parents, id << 1);
+		}
+		_parents[id] = parent;
+		_names.add(name);
+		_segments.add(name.substring(separator + 1));
+		_nodes.put(name, id);
+		return id;
+	}
+
+	public int size() {
+		return _names.size();
+	}
+
+	/**
+	 * @return the parent node, or {@link #ROOT} for a name without dots
+	 */
+	public int getParent(final int node) {
+		return _parents[node];
+	}
+
+	/**
+	 * @return the last segment of the name, after the last dot
+	 */
+	public String getSegment(final int node) {
+		return _segments.get(node);
+	}
+
+	/**
+	 * @return the full dotted name
+	 */
+	public String getName(final int node) {
+		return _names.get(node);
+	}
+}
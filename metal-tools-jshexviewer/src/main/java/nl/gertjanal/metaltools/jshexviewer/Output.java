@@ -0,0 +1,43 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+/**
+ * Optional outputs of {@link JsHexViewer#generate}, next to the page and the definitions script.
+ *
+ * @author Gertjan Al.
+ */
+public enum Output {
+	/**
+	 * Write the definitions to a binary {@code <fileName>.bin} as well, see {@link JsHexViewer#generateBinary}.
+	 * The viewer loads it into typed arrays and uses the script as fallback when the binary file can not be read.
+	 */
+	BINARY,
+
+	/**
+	 * Write the definitions in shards by page range with a small manifest, see {@link JsHexViewer#generateShards}.
+	 * The viewer then only loads the shards of the current page and its neighbours.
+	 */
+	SHARDS,
+
+	/**
+	 * When the definitions of a new parse start with all definitions of the previous generate, only write the
+	 * added definitions to a delta file in {@code <fileName>.deltas}. The other outputs are left as they are.
+	 * Ignored in combination with {@link #SHARDS}.
+	 */
+	DELTAS
+}
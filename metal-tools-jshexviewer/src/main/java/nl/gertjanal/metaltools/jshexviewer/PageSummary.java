@@ -0,0 +1,228 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The pages of a {@link DefinitionIndex} that have definitions, with the number of definitions that start in every
+ * page, a label for the page and the pages with the most definitions (hotspots). The viewer shows them as the
+ * pages of interest and the hotspots, without visiting the definitions itself.
+ * <p>
+ * The label of a page is the first segment of the name of its first definition that differs from the name of the
+ * first definition of the previous page. Definitions with an offset beyond a long are left out.
+ *
+ * @author Gertjan Al.
+ */
+public class PageSummary {
+
+	static final int HOTSPOT_COUNT = 30;
+
+	private final long[] _pages;
+	private final int[] _counts;
+	private final String[] _labels;
+	private final int[] _hotspots;
+
+	public PageSummary(final DefinitionIndex index) {
+		this(index, null);
+	}
+
+	/**
+	 * @param pool to summarize large indices in parallel, or null to summarize on the current thread
+	 */
+	public PageSummary(final DefinitionIndex index, final ForkJoinPool pool) {
+		// Overflow definitions are sorted last
+		int limit = index.size();
+		while (limit > 0 && index.isOverflow(limit - 1)) {
+			limit--;
+		}
+		final int size = limit;
+
+		// The index is sorted by row, so the definitions of a page are next to each other
+		final int[] firsts = run(pool, () -> range(0, size, pool).filter(i -> i == 0 || page(index, i) != page(index, i - 1)).toArray());
+		_pages = run(pool, () -> range(0, firsts.length, pool).mapToLong(k -> page(index, firsts[k])).toArray());
+		final int[] counts = run(pool, () -> range(0, firsts.length, pool).map(k -> (k + 1 < firsts.length ? firsts[k + 1] : size) - firsts[k]).toArray());
+		_counts = counts;
+		_labels = run(pool, () -> range(0, firsts.length, pool)
+			.mapToObj(k -> label(index.getName(firsts[k]), k > 0 ? index.getName(firsts[k - 1]) : null))
+			.toArray(String[]::new));
+		_hotspots = hotspots(counts, pool);
+	}
+
+	private PageSummary(final TreeMap<Long, Page> pages) {
+		_pages = new long[pages.size()];
+		_counts = new int[pages.size()];
+		_labels = new String[pages.size()];
+		String previous = null;
+		int k = 0;
+		for (final Map.Entry<Long, Page> page : pages.entrySet()) {
+			_pages[k] = page.getKey();
+			_counts[k] = page.getValue().count;
+			_labels[k] = label(page.getValue().name, previous);
+			previous = page.getValue().name;
+			k++;
+		}
+		_hotspots = hotspots(_counts, null);
+	}
+
+	private static int[] hotspots(final int[] counts, final ForkJoinPool pool) {
+		return run(pool, () -> range(0, counts.length, pool).boxed()
+			.sorted(Comparator.comparingInt((Integer k) -> -counts[k]).thenComparingInt(k -> k))
+			.limit(HOTSPOT_COUNT)
+			.mapToInt(Integer::intValue)
+			.toArray());
+	}
+
+	private static long page(final DefinitionIndex index, final int i) {
+		return index.getRow(i) * index.getColumnCount() / JsHexViewer.PAGE_SIZE;
+	}
+
+	private static String label(final String name, final String previous) {
+		final String[] segments = name.split("\\.");
+		if (previous == null) {
+			return segments[0];
+		}
+		final String[] previousSegments = previous.split("\\.");
+		for (int i = 0; i < Math.min(segments.length, previousSegments.length); i++) {
+			if (!segments[i].equals(previousSegments[i])) {
+				return segments[i];
+			}
+		}
+		return segments[0];
+	}
+
+	private static IntStream range(final int from, final int to, final ForkJoinPool pool) {
+		final IntStream range = IntStream.range(from, to);
+		return pool == null ? range : range.parallel();
+	}
+
+	private static <T> T run(final ForkJoinPool pool, final Callable<T> task) {
+		try {
+			// A parallel stream started from a task of the pool runs on that pool
+			return pool == null ? task.call() : pool.submit(task).get();
+		}
+		catch (final Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return the number of pages with definitions
+	 */
+	public int size() {
+		return _pages.length;
+	}
+
+	public long getPage(final int index) {
+		return _pages[index];
+	}
+
+	/**
+	 * @return the number of definitions that start in the page
+	 */
+	public int getCount(final int index) {
+		return _counts[index];
+	}
+
+	public String getLabel(final int index) {
+		return _labels[index];
+	}
+
+	/**
+	 * @return the positions in this summary of at most {@value #HOTSPOT_COUNT} pages with the most definitions,
+	 * the most first; pages with the same count are ordered by page
+	 */
+	public int[] getHotspots() {
+		return _hotspots.clone();
+	}
+
+	/**
+	 * Write the summary as JSON: {@code {"pageSize": size, "pages": [[page, count, label], ...], "hotspots": [position, ...]}},
+	 * where a hotspot is a position in the pages.
+	 */
+	public void write(final Writer writer) throws IOException {
+		writer.write("{\"pageSize\": " + JsHexViewer.PAGE_SIZE + ", \"pages\": [");
+		for (int i = 0; i < _pages.length; i++) {
+			writer.write(i > 0 ? ", [" : "[");
+			writer.write(Long.toString(_pages[i]));
+			writer.write(", ");
+			writer.write(Integer.toString(_counts[i]));
+			writer.write(", ");
+			writer.write(JsHexViewer.quote(_labels[i]));
+			writer.write("]");
+		}
+		writer.write("], \"hotspots\": [");
+		for (int i = 0; i < _hotspots.length; i++) {
+			writer.write((i > 0 ? ", " : "") + _hotspots[i]);
+		}
+		writer.write("]}");
+	}
+
+	/**
+	 * The pages of definitions that are added in parse order, for example by a parse that is still running. A summary of
+	 * all definitions so far can be made at any time, without visiting the definitions that were added before.
+	 */
+	static class Pages {
+		private final TreeMap<Long, Page> pages = new TreeMap<>();
+
+		/**
+		 * Add the definitions of the index, which were parsed after the definitions that were added before.
+		 */
+		void add(final DefinitionIndex index) {
+			for (int i = 0; i < index.size(); i++) {
+				if (index.isOverflow(i)) {
+					continue;
+				}
+				final Page page = pages.get(page(index, i));
+				if (page == null) {
+					pages.put(page(index, i), new Page(index.getRow(i), index.getName(i)));
+				}
+				else {
+					// The first definition of a page is the first one parsed in its first row
+					page.count++;
+					if (index.getRow(i) < page.row) {
+						page.row = index.getRow(i);
+						page.name = index.getName(i);
+					}
+				}
+			}
+		}
+
+		PageSummary summarize() {
+			return new PageSummary(pages);
+		}
+	}
+
+	private static class Page {
+		private long row;
+		private String name;
+		private int count;
+
+		private Page(final long row, final String name) {
+			this.row = row;
+			this.name = name;
+			this.count = 1;
+		}
+	}
+}
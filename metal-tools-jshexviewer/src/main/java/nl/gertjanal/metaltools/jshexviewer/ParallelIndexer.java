@@ -0,0 +1,128 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.gertjanal.metaltools.jshexviewer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import io.parsingdata.metal.data.ParseGraph;
+import io.parsingdata.metal.data.ParseItem;
+import io.parsingdata.metal.data.ParseValue;
+
+/**
+ * Collect the highlighted definitions of a {@link ParseGraph} on a {@link ForkJoinPool}.
+ * <p>
+ * Long tail chains (like the result of a rep(...)) are split in ranges, and large subgraphs are indexed in their own task.
+ * Every task results in a list of parts in parse order, so appending the parts gives exactly the definitions
+ * of a serial walk, and the same output.
+ *
+ * @author Gertjan Al.
+ */
+class ParallelIndexer extends RecursiveTask<List<DefinitionIndex>> {
+
+	private static final long serialVersionUID = 1L;
+	private static final int SPLIT_SIZE = 1 << 12;
+
+	private final long _columnCount;
+	private final List<ParseItem> _items;
+
+	private ParallelIndexer(final long columnCount, final List<ParseItem> items) {
+		_columnCount = columnCount;
+		_items = items;
+	}
+
+	static DefinitionIndex index(final ParseGraph graph, final long columnCount, final ForkJoinPool pool) {
+		final DefinitionIndex index = new DefinitionIndex(columnCount);
+		for (final DefinitionIndex part : pool.invoke(new ParallelIndexer(columnCount, Collections.singletonList(graph)))) {
+			index.append(part);
+		}
+		index.sort(pool);
+		return index;
+	}
+
+	@Override
+	protected List<DefinitionIndex> compute() {
+		if (_items.size() > SPLIT_SIZE) {
+			final int middle = _items.size() >>> 1;
+			final ParallelIndexer first = new ParallelIndexer(_columnCount, _items.subList(0, middle));
+			first.fork();
+			final List<DefinitionIndex> last = new ParallelIndexer(_columnCount, _items.subList(middle, _items.size())).compute();
+			final List<DefinitionIndex> parts = new ArrayList<>(first.join());
+			parts.addAll(last);
+			return parts;
+		}
+
+		// Walk the items like the serial walk, but hand large graphs to new tasks
+		final List<Object> parts = new ArrayList<>();
+		DefinitionIndex current = new DefinitionIndex(_columnCount);
+		parts.add(current);
+		final Deque<ParseItem> items = new ArrayDeque<>();
+		for (int i = _items.size() - 1; i >= 0; i--) {
+			items.push(_items.get(i));
+		}
+		while (!items.isEmpty()) {
+			final ParseItem item = items.pop();
+			if (item.isValue()) {
+				final ParseValue value = item.asValue();
+				HighlightSink.highlight(current, value, value.slice());
+				continue;
+			}
+			if (!item.isGraph() || item.asGraph().head == null) {
+				continue;
+			}
+			final ParseGraph graph = item.asGraph();
+			if (graph.size > SPLIT_SIZE) {
+				final ParallelIndexer task = new ParallelIndexer(_columnCount, chain(graph));
+				task.fork();
+				parts.add(task);
+				current = new DefinitionIndex(_columnCount);
+				parts.add(current);
+				continue;
+			}
+			// Push the head first, so the tail is visited first and values are added in parse order
+			items.push(graph.head);
+			items.push(graph.tail);
+		}
+
+		final List<DefinitionIndex> result = new ArrayList<>();
+		for (final Object part : parts) {
+			if (part instanceof ParallelIndexer) {
+				result.addAll(((ParallelIndexer) part).join());
+			}
+			else if (((DefinitionIndex) part).size() > 0) {
+				result.add((DefinitionIndex) part);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the heads of the tail chain of the graph, in parse order
+	 */
+	private static List<ParseItem> chain(final ParseGraph graph) {
+		final List<ParseItem> items = new ArrayList<>();
+		for (ParseGraph current = graph; current.head != null; current = current.tail) {
+			items.add(current.head);
+		}
+		Collections.reverse(items);
+		return items;
+	}
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.parsingdata.metal.data.ParseGraph;
+import io.parsingdata.metal.data.ParseItem;
+import io.parsingdata.metal.data.ParseState;
+import io.parsingdata.metal.data.callback.Callback;
+import io.parsingdata.metal.data.callback.Callbacks;
+import io.parsingdata.metal.token.Token;
+import nl.gertjanal.metaltools.core.ParseGraphWalker;
+import nl.gertjanal.metaltools.core.SourceFiles;
+
+/**
+ * Generate the hex viewer while a parse is still running, so the first definitions can be viewed before the parse is done.
+ * <p>
+ * Add the generator to the {@link Callbacks} of the environment of the parse. At most once per interval, the graph
+ * parsed so far is generated like with {@link Output#DELTAS}: the definitions that were added since the previous snapshot
+ * are written as a delta, which the open viewer merges on its next poll. When the parse backtracks and earlier
+ * definitions disappear, all definitions are written again.
+ * <p>
+ * A graph only grows by new nodes on top of the nodes of the earlier graph, so the added definitions are found by
+ * walking the new graph down to the nodes of the previous snapshot. The summary, the coverage and the version are kept
+ * between snapshots and only updated with the added definitions; the source data is placed once.
+ * <p>
+ * The snapshots are generated on a background thread, so the parse does not wait for them. When a snapshot is still
+ * being written, only the latest graph is kept for the next one. Call {@link #finish(ParseGraph)} with the result of
+ * the parse to write the final definitions.
+ *
+ * @author Gertjan Al.
+ */
+public class ProgressiveGenerator implements Callback, Closeable {
+
+	private final String _fileName;
+	private final File _dir;
+	private final long _interval;
+	private final ExecutorService _executor = Executors.newSingleThreadExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "ProgressiveGenerator");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicReference<ParseGraph> _pending = new AtomicReference<>();
+	private final AtomicReference<Exception> _error = new AtomicReference<>();
+	private long _lastSnapshot;
+
+	// The state of the generated output, only used by the thread that generates
+	private final long _dataSize;
+	private ParseGraph _graph;
+	private PageSummary.Pages _pages;
+	private Coverage _coverage;
+	private long _version;
+	private String _baseVersion;
+	private int _definitionCount;
+	private int _deltaCount;
+
+	/**
+	 * Place the source data and the libraries in the directory, see {@link SourceFiles#place(Path, Path)}.
+	 *
+	 * @param data the source data of the parse, or null
+	 * @param interval the minimal time between two snapshots
+	 */
+	public ProgressiveGenerator(final Path data, final String fileName, final Path dir, final long interval, final TimeUnit unit) throws URISyntaxException, IOException {
+		_fileName = fileName;
+		_dir = dir.toFile();
+		_interval = unit.toNanos(interval);
+		_lastSnapshot = System.nanoTime() - _interval;
+		if (data != null) {
+			SourceFiles.place(data, dir.resolve(fileName));
+		}
+		JsHexViewer.copyLibs(_dir);
+		_dataSize = JsHexViewer.dataSize(fileName, _dir);
+	}
+
+	@Override
+	public void handleSuccess(final Token token, final ParseState before, final ParseState after) {
+		final long now = System.nanoTime();
+		if (now - _lastSnapshot < _interval || _executor.isShutdown()) {
+			return;
+		}
+		_lastSnapshot = now;
+		if (_pending.getAndSet(after.order) == null) {
+			// No snapshot is waiting yet; the task takes whatever graph is the latest when it runs
+			try {
+				_executor.execute(this::snapshot);
+			}
+			catch (final RejectedExecutionException e) {
+				// Closed or finished since the check above; the parse goes on without snapshots
+				_pending.set(null);
+			}
+		}
+	}
+
+	@Override
+	public void handleFailure(final Token token, final ParseState before) {
+		// Only successful parses add definitions
+	}
+
+	private void snapshot() {
+		final ParseGraph graph = _pending.getAndSet(null);
+		if (graph == null || _error.get() != null) {
+			return;
+		}
+		try {
+			generate(graph);
+		}
+		catch (final Exception e) {
+			_error.compareAndSet(null, e);
+		}
+	}
+
+	private void generate(final ParseGraph graph) throws URISyntaxException, IOException {
+		final DefinitionIndex added = _graph == null ? null : added(_graph, graph);
+		if (added == null) {
+			generateAll(graph);
+		}
+		else if (added.size() > 0) {
+			generateDelta(added);
+		}
+		_graph = graph;
+	}
+
+	private void generateAll(final ParseGraph graph) throws URISyntaxException, IOException {
+		final DefinitionIndex index = JsHexViewer.index(graph);
+		JsHexViewer.generate(index, (Path) null, _fileName, _dir.toPath(), false);
+		_pages = new PageSummary.Pages();
+		_pages.add(index);
+		_coverage = new Coverage(_dataSize);
+		_coverage.add(index);
+		_version = index.version();
+		_baseVersion = JsHexViewer.toHex(_version);
+		_definitionCount = index.size();
+		_deltaCount = 0;
+	}
+
+	private void generateDelta(final DefinitionIndex added) throws IOException {
+		added.sort();
+		_pages.add(added);
+		_coverage.add(added);
+		_version = added.extendVersion(_version);
+		_definitionCount += added.size();
+		_deltaCount++;
+		JsHexViewer.writeSummary(_pages.summarize(), _fileName, _dir);
+		JsHexViewer.writeCoverage(_coverage, _fileName, _dir);
+		JsHexViewer.writeDelta(added, 0, new File(_dir, _fileName + ".deltas"), _deltaCount);
+		new JsHexViewer.Version(JsHexViewer.toHex(_version), _baseVersion, _definitionCount, _deltaCount).write(new File(_dir, _fileName + ".version.js"));
+	}
+
+	/**
+	 * Collect the definitions of the graph that were parsed after the definitions of the previous graph.
+	 * <p>
+	 * The nodes of a graph are never changed: a value is added by a new node with the graph as tail, and a value in an
+	 * open branch by new nodes along the path to that branch, with the same tails. Walking down from the top of the graph,
+	 * the previous graph is found, or a node with the same tail as the previous graph and a branch that was extended.
+	 *
+	 * @return the added definitions in parse order, or null when definitions of the previous graph disappeared
+	 */
+	static DefinitionIndex added(final ParseGraph previous, final ParseGraph graph) {
+		final DefinitionIndex index = new DefinitionIndex(JsHexViewer.COLUMN_COUNT);
+		return added(previous, graph, index) ? index : null;
+	}
+
+	private static boolean added(final ParseGraph previous, final ParseGraph graph, final DefinitionIndex index) {
+		// The items above the previous graph, the last parsed first
+		final Deque<ParseItem> items = new ArrayDeque<>();
+		ParseGraph current = graph;
+		while (current != previous) {
+			if (current.head == null) {
+				return false;
+			}
+			if (current.tail == previous.tail && previous.head != null && current.head.isGraph() && previous.head.isGraph()) {
+				// The branch on top of the previous graph was extended, or closed
+				if (!added(previous.head.asGraph(), current.head.asGraph(), index)) {
+					return false;
+				}
+				break;
+			}
+			items.push(current.head);
+			current = current.tail;
+		}
+		final HighlightSink highlights = new HighlightSink(index);
+		for (final ParseItem item : items) {
+			if (item.isValue()) {
+				highlights.value(item.asValue(), item.asValue().slice(), null);
+			}
+			else if (item.isGraph()) {
+				ParseGraphWalker.walk(item.asGraph(), highlights);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Wait for the running snapshot and generate the final graph.
+	 *
+	 * @throws IOException when a snapshot failed, or the final graph could not be generated
+	 */
+	public void finish(final ParseGraph graph) throws URISyntaxException, IOException, InterruptedException {
+		_pending.set(null);
+		_executor.shutdown();
+		_executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		if (_error.get() != null) {
+			throw new IOException("Snapshot failed", _error.get());
+		}
+		generate(graph);
+	}
+
+	@Override
+	public void close() {
+		_executor.shutdownNow();
+	}
+}
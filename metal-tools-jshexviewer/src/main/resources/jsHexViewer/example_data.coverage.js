@@ -0,0 +1 @@
+/* generated by JsHexViewer */coverageUpdate({"size": 8, "covered": 8, "runs": 1, "gaps": [], "minimapScale": 1, "minimap": [100, 100, 100, 100, 100, 100, 100, 100]});
\ No newline at end of file
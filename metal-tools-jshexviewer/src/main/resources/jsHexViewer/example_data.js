@@ -1 +1 @@
-/* generated by JsHexViewer */var columnCountUpdate = 32;var locationsUpdate = [0];var dataUpdate = [[[0, 1, 'length'], [1, 7, 'text']]];
\ No newline at end of file
+/* generated by JsHexViewer */var versionUpdate = '8c8ffd5b032654af';var columnCountUpdate = 32;var namesUpdate = [[-1, 'length'], [-1, 'text']];var locationsUpdate = [0];var dataUpdate = [[[0, 1, 0], [1, 7, 1]]];
\ No newline at end of file
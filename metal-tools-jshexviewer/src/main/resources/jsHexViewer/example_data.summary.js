@@ -0,0 +1 @@
+/* generated by JsHexViewer */summaryUpdate({"pageSize": 1024, "pages": [[0, 2, "length"]], "hotspots": [0]});
\ No newline at end of file
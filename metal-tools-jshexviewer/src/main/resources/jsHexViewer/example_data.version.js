@@ -0,0 +1 @@
+/* generated by JsHexViewer */var versionUpdate = '8c8ffd5b032654af';var baseVersionUpdate = '8c8ffd5b032654af';var definitionCountUpdate = 2;var deltaCountUpdate = 0;
\ No newline at end of file
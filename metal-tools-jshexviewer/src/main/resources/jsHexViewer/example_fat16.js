@@ -1 +1 @@
-/* generated by JsHexViewer */var columnCountUpdate = 32;var locationsUpdate = [0, 1, 15, 16, 2064, 2065, 2066, 2067, 2068, 2069, 2128, 2129, 2130, 2131, 2132, 2133, 2192, 2193, 2194, 2195, 2196, 2197, 2384, 2576, 2768];var dataUpdate = [[[0, 3, 'BootSector.jmpBoot'], [3, 8, 'BootSector.OEMName'], [11, 2, 'BootSector.BytsPerSec'], [13, 1, 'BootSector.SecPerClus'], [14, 2, 'BootSector.RsvdSecCnt'], [16, 1, 'BootSector.NumFATs'], [17, 2, 'BootSector.RootEntCnt'], [19, 2, 'BootSector.TotSec16'], [21, 1, 'BootSector.Media'], [22, 2, 'BootSector.FATSz16'], [24, 2, 'BootSector.SecPerTrk'], [26, 2, 'BootSector.NumHeads'], [28, 4, 'BootSector.HiddSec']],[[32, 4, 'BootSector.TotSec32'], [36, 1, 'BootSector.DrvNum'], [37, 1, 'BootSector.Reserved1'], [38, 1, 'BootSector.BootSig'], [39, 4, 'BootSector.VolID'], [43, 11, 'BootSector.VolLab'], [54, 8, 'BootSector.FilSysType'], [62, 448, 'BootSector.executable_code']],[[510, 2, 'BootSector.executable_marker']],[[512, 1, 'FAT_ID'], [513, 1, 'Remaining'], [514, 2, 'Clean']],[[66048, 11, 'ShortName.Name'], [66059, 1, 'ShortName.DIRECTORY'], [66060, 1, 'ShortName.NTRes'], [66061, 1, 'ShortName.CrtTimeTenth'], [66062, 2, 'ShortName.CrtTime'], [66064, 2, 'ShortName.CrtDate'], [66066, 2, 'ShortName.LstAccDate'], [66068, 2, 'ShortName.FstClusHI'], [66070, 2, 'ShortName.WrtTime'], [66072, 2, 'ShortName.WrtDate'], [66074, 2, 'ShortName.FstClusLO'], [66076, 4, 'ShortName.FileSize']],[[66080, 11, 'ShortName.Name'], [66091, 1, 'ShortName.DIRECTORY'], [66092, 1, 'ShortName.NTRes'], [66093, 1, 'ShortName.CrtTimeTenth'], [66094, 2, 'ShortName.CrtTime'], [66096, 2, 'ShortName.CrtDate'], [66098, 2, 'ShortName.LstAccDate'], [66100, 2, 'ShortName.FstClusHI'], [66102, 2, 'ShortName.WrtTime'], [66104, 2, 'ShortName.WrtDate'], [66106, 2, 'ShortName.FstClusLO'], [66108, 4, 'ShortName.FileSize']],[[66112, 1, 'LongName.Deleted'], [66113, 10, 'LongName.Name1'], [66123, 1, 'LongName.Attr'], [66124, 1, 'LongName.Type'], [66125, 1, 'LongName.Chksum'], [66126, 12, 'LongName.Name2'], [66138, 2, 'LongName.FstClusLO'], [66140, 4, 'LongName.Name3']],[[66144, 1, 'LongName.ShortName.Deleted'], [66145, 10, 'LongName.ShortName.Name'], [66155, 1, 'LongName.ShortName.ARCHIVE'], [66156, 1, 'LongName.ShortName.NTRes'], [66157, 1, 'LongName.ShortName.CrtTimeTenth'], [66158, 2, 'LongName.ShortName.CrtTime'], [66160, 2, 'LongName.ShortName.CrtDate'], [66162, 2, 'LongName.ShortName.LstAccDate'], [66164, 2, 'LongName.ShortName.FstClusHI'], [66166, 2, 'LongName.ShortName.WrtTime'], [66168, 2, 'LongName.ShortName.WrtDate'], [66170, 2, 'LongName.ShortName.FstClusLO'], [66172, 4, 'LongName.ShortName.FileSize']],[[66176, 1, 'LongName.Ordinal'], [66177, 10, 'LongName.Name1'], [66187, 1, 'LongName.Attr'], [66188, 1, 'LongName.Type'], [66189, 1, 'LongName.Chksum'], [66190, 12, 'LongName.Name2'], [66202, 2, 'LongName.FstClusLO'], [66204, 4, 'LongName.Name3']],[[66208, 11, 'LongName.ShortName.Name'], [66219, 1, 'LongName.ShortName.ARCHIVE'], [66220, 1, 'LongName.ShortName.NTRes'], [66221, 1, 'LongName.ShortName.CrtTimeTenth'], [66222, 2, 'LongName.ShortName.CrtTime'], [66224, 2, 'LongName.ShortName.CrtDate'], [66226, 2, 'LongName.ShortName.LstAccDate'], [66228, 2, 'LongName.ShortName.FstClusHI'], [66230, 2, 'LongName.ShortName.WrtTime'], [66232, 2, 'LongName.ShortName.WrtDate'], [66234, 2, 'LongName.ShortName.FstClusLO'], [66236, 4, 'LongName.ShortName.FileSize']],[[68096, 11, 'ShortName.Name'], [68107, 1, 'ShortName.DIRECTORY'], [68108, 1, 'ShortName.NTRes'], [68109, 1, 'ShortName.CrtTimeTenth'], [68110, 2, 'ShortName.CrtTime'], [68112, 2, 'ShortName.CrtDate'], [68114, 2, 'ShortName.LstAccDate'], [68116, 2, 'ShortName.FstClusHI'], [68118, 2, 'ShortName.WrtTime'], [68120, 2, 'ShortName.WrtDate'], [68122, 2, 'ShortName.FstClusLO'], [68124, 4, 'ShortName.FileSize']],[[68128, 11, 'ShortName.Name'], [68139, 1, 'ShortName.DIRECTORY'], [68140, 1, 'ShortName.NTRes'], [68141, 1, 'ShortName.CrtTimeTenth'], [68142, 2, 'ShortName.CrtTime'], [68144, 2, 'ShortName.CrtDate'], [68146, 2, 'ShortName.LstAccDate'], [68148, 2, 'ShortName.FstClusHI'], [68150, 2, 'ShortName.WrtTime'], [68152, 2, 'ShortName.WrtDate'], [68154, 2, 'ShortName.FstClusLO'], [68156, 4, 'ShortName.FileSize']],[[68160, 1, 'LongName.Deleted'], [68161, 10, 'LongName.Name1'], [68171, 1, 'LongName.Attr'], [68172, 1, 'LongName.Type'], [68173, 1, 'LongName.Chksum'], [68174, 12, 'LongName.Name2'], [68186, 2, 'LongName.FstClusLO'], [68188, 4, 'LongName.Name3']],[[68192, 1, 'LongName.ShortName.Deleted'], [68193, 10, 'LongName.ShortName.Name'], [68203, 1, 'LongName.ShortName.ARCHIVE'], [68204, 1, 'LongName.ShortName.NTRes'], [68205, 1, 'LongName.ShortName.CrtTimeTenth'], [68206, 2, 'LongName.ShortName.CrtTime'], [68208, 2, 'LongName.ShortName.CrtDate'], [68210, 2, 'LongName.ShortName.LstAccDate'], [68212, 2, 'LongName.ShortName.FstClusHI'], [68214, 2, 'LongName.ShortName.WrtTime'], [68216, 2, 'LongName.ShortName.WrtDate'], [68218, 2, 'LongName.ShortName.FstClusLO'], [68220, 4, 'LongName.ShortName.FileSize']],[[68224, 1, 'LongName.Ordinal'], [68225, 10, 'LongName.Name1'], [68235, 1, 'LongName.Attr'], [68236, 1, 'LongName.Type'], [68237, 1, 'LongName.Chksum'], [68238, 12, 'LongName.Name2'], [68250, 2, 'LongName.FstClusLO'], [68252, 4, 'LongName.Name3']],[[68256, 11, 'LongName.ShortName.Name'], [68267, 1, 'LongName.ShortName.ARCHIVE'], [68268, 1, 'LongName.ShortName.NTRes'], [68269, 1, 'LongName.ShortName.CrtTimeTenth'], [68270, 2, 'LongName.ShortName.CrtTime'], [68272, 2, 'LongName.ShortName.CrtDate'], [68274, 2, 'LongName.ShortName.LstAccDate'], [68276, 2, 'LongName.ShortName.FstClusHI'], [68278, 2, 'LongName.ShortName.WrtTime'], [68280, 2, 'LongName.ShortName.WrtDate'], [68282, 2, 'LongName.ShortName.FstClusLO'], [68284, 4, 'LongName.ShortName.FileSize']],[[70144, 11, 'ShortName.Name'], [70155, 1, 'ShortName.DIRECTORY'], [70156, 1, 'ShortName.NTRes'], [70157, 1, 'ShortName.CrtTimeTenth'], [70158, 2, 'ShortName.CrtTime'], [70160, 2, 'ShortName.CrtDate'], [70162, 2, 'ShortName.LstAccDate'], [70164, 2, 'ShortName.FstClusHI'], [70166, 2, 'ShortName.WrtTime'], [70168, 2, 'ShortName.WrtDate'], [70170, 2, 'ShortName.FstClusLO'], [70172, 4, 'ShortName.FileSize']],[[70176, 11, 'ShortName.Name'], [70187, 1, 'ShortName.DIRECTORY'], [70188, 1, 'ShortName.NTRes'], [70189, 1, 'ShortName.CrtTimeTenth'], [70190, 2, 'ShortName.CrtTime'], [70192, 2, 'ShortName.CrtDate'], [70194, 2, 'ShortName.LstAccDate'], [70196, 2, 'ShortName.FstClusHI'], [70198, 2, 'ShortName.WrtTime'], [70200, 2, 'ShortName.WrtDate'], [70202, 2, 'ShortName.FstClusLO'], [70204, 4, 'ShortName.FileSize']],[[70208, 1, 'LongName.Deleted'], [70209, 10, 'LongName.Name1'], [70219, 1, 'LongName.Attr'], [70220, 1, 'LongName.Type'], [70221, 1, 'LongName.Chksum'], [70222, 12, 'LongName.Name2'], [70234, 2, 'LongName.FstClusLO'], [70236, 4, 'LongName.Name3']],[[70240, 1, 'LongName.ShortName.Deleted'], [70241, 10, 'LongName.ShortName.Name'], [70251, 1, 'LongName.ShortName.ARCHIVE'], [70252, 1, 'LongName.ShortName.NTRes'], [70253, 1, 'LongName.ShortName.CrtTimeTenth'], [70254, 2, 'LongName.ShortName.CrtTime'], [70256, 2, 'LongName.ShortName.CrtDate'], [70258, 2, 'LongName.ShortName.LstAccDate'], [70260, 2, 'LongName.ShortName.FstClusHI'], [70262, 2, 'LongName.ShortName.WrtTime'], [70264, 2, 'LongName.ShortName.WrtDate'], [70266, 2, 'LongName.ShortName.FstClusLO'], [70268, 4, 'LongName.ShortName.FileSize']],[[70272, 1, 'LongName.Ordinal'], [70273, 10, 'LongName.Name1'], [70283, 1, 'LongName.Attr'], [70284, 1, 'LongName.Type'], [70285, 1, 'LongName.Chksum'], [70286, 12, 'LongName.Name2'], [70298, 2, 'LongName.FstClusLO'], [70300, 4, 'LongName.Name3']],[[70304, 11, 'LongName.ShortName.Name'], [70315, 1, 'LongName.ShortName.ARCHIVE'], [70316, 1, 'LongName.ShortName.NTRes'], [70317, 1, 'LongName.ShortName.CrtTimeTenth'], [70318, 2, 'LongName.ShortName.CrtTime'], [70320, 2, 'LongName.ShortName.CrtDate'], [70322, 2, 'LongName.ShortName.LstAccDate'], [70324, 2, 'LongName.ShortName.FstClusHI'], [70326, 2, 'LongName.ShortName.WrtTime'], [70328, 2, 'LongName.ShortName.WrtDate'], [70330, 2, 'LongName.ShortName.FstClusLO'], [70332, 4, 'LongName.ShortName.FileSize']],[[76288, 37, 'file in A']],[[82432, 35, 'file in B']],[[88576, 35, 'file in C']]];
\ No newline at end of file
+/* generated by JsHexViewer */var versionUpdate = '67ca682bde83338a';var columnCountUpdate = 32;var namesUpdate = [[-1, 'BootSector'], [0, 'jmpBoot'], [0, 'OEMName'], [0, 'BytsPerSec'], [0, 'SecPerClus'], [0, 'RsvdSecCnt'], [0, 'NumFATs'], [0, 'RootEntCnt'], [0, 'TotSec16'], [0, 'Media'], [0, 'FATSz16'], [0, 'SecPerTrk'], [0, 'NumHeads'], [0, 'HiddSec'], [0, 'TotSec32'], [0, 'DrvNum'], [0, 'Reserved1'], [0, 'BootSig'], [0, 'VolID'], [0, 'VolLab'], [0, 'FilSysType'], [0, 'executable_code'], [0, 'executable_marker'], [-1, 'FAT_ID'], [-1, 'Remaining'], [-1, 'Clean'], [-1, 'ShortName'], [26, 'Name'], [26, 'DIRECTORY'], [26, 'NTRes'], [26, 'CrtTimeTenth'], [26, 'CrtTime'], [26, 'CrtDate'], [26, 'LstAccDate'], [26, 'FstClusHI'], [26, 'WrtTime'], [26, 'WrtDate'], [26, 'FstClusLO'], [26, 'FileSize'], [-1, 'LongName'], [39, 'Deleted'], [39, 'Name1'], [39, 'Attr'], [39, 'Type'], [39, 'Chksum'], [39, 'Name2'], [39, 'FstClusLO'], [39, 'Name3'], [39, 'ShortName'], [48, 'Deleted'], [48, 'Name'], [48, 'ARCHIVE'], [48, 'NTRes'], [48, 'CrtTimeTenth'], [48, 'CrtTime'], [48, 'CrtDate'], [48, 'LstAccDate'], [48, 'FstClusHI'], [48, 'WrtTime'], [48, 'WrtDate'], [48, 'FstClusLO'], [48, 'FileSize'], [39, 'Ordinal'], [-1, 'file in A'], [-1, 'file in B'], [-1, 'file in C']];var locationsUpdate = [0, 1, 15, 16, 2064, 2065, 2066, 2067, 2068, 2069, 2128, 2129, 2130, 2131, 2132, 2133, 2192, 2193, 2194, 2195, 2196, 2197, 2384, 2576, 2768];var dataUpdate = [[[0, 3, 1], [3, 8, 2], [11, 2, 3], [13, 1, 4], [14, 2, 5], [16, 1, 6], [17, 2, 7], [19, 2, 8], [21, 1, 9], [22, 2, 10], [24, 2, 11], [26, 2, 12], [28, 4, 13]],[[32, 4, 14], [36, 1, 15], [37, 1, 16], [38, 1, 17], [39, 4, 18], [43, 11, 19], [54, 8, 20], [62, 448, 21]],[[510, 2, 22]],[[512, 1, 23], [513, 1, 24], [514, 2, 25]],[[66048, 11, 27], [66059, 1, 28], [66060, 1, 29], [66061, 1, 30], [66062, 2, 31], [66064, 2, 32], [66066, 2, 33], [66068, 2, 34], [66070, 2, 35], [66072, 2, 36], [66074, 2, 37], [66076, 4, 38]],[[66080, 11, 27], [66091, 1, 28], [66092, 1, 29], [66093, 1, 30], [66094, 2, 31], [66096, 2, 32], [66098, 2, 33], [66100, 2, 34], [66102, 2, 35], [66104, 2, 36], [66106, 2, 37], [66108, 4, 38]],[[66112, 1, 40], [66113, 10, 41], [66123, 1, 42], [66124, 1, 43], [66125, 1, 44], [66126, 12, 45], [66138, 2, 46], [66140, 4, 47]],[[66144, 1, 49], [66145, 10, 50], [66155, 1, 51], [66156, 1, 52], [66157, 1, 53], [66158, 2, 54], [66160, 2, 55], [66162, 2, 56], [66164, 2, 57], [66166, 2, 58], [66168, 2, 59], [66170, 2, 60], [66172, 4, 61]],[[66176, 1, 62], [66177, 10, 41], [66187, 1, 42], [66188, 1, 43], [66189, 1, 44], [66190, 12, 45], [66202, 2, 46], [66204, 4, 47]],[[66208, 11, 50], [66219, 1, 51], [66220, 1, 52], [66221, 1, 53], [66222, 2, 54], [66224, 2, 55], [66226, 2, 56], [66228, 2, 57], [66230, 2, 58], [66232, 2, 59], [66234, 2, 60], [66236, 4, 61]],[[68096, 11, 27], [68107, 1, 28], [68108, 1, 29], [68109, 1, 30], [68110, 2, 31], [68112, 2, 32], [68114, 2, 33], [68116, 2, 34], [68118, 2, 35], [68120, 2, 36], [68122, 2, 37], [68124, 4, 38]],[[68128, 11, 27], [68139, 1, 28], [68140, 1, 29], [68141, 1, 30], [68142, 2, 31], [68144, 2, 32], [68146, 2, 33], [68148, 2, 34], [68150, 2, 35], [68152, 2, 36], [68154, 2, 37], [68156, 4, 38]],[[68160, 1, 40], [68161, 10, 41], [68171, 1, 42], [68172, 1, 43], [68173, 1, 44], [68174, 12, 45], [68186, 2, 46], [68188, 4, 47]],[[68192, 1, 49], [68193, 10, 50], [68203, 1, 51], [68204, 1, 52], [68205, 1, 53], [68206, 2, 54], [68208, 2, 55], [68210, 2, 56], [68212, 2, 57], [68214, 2, 58], [68216, 2, 59], [68218, 2, 60], [68220, 4, 61]],[[68224, 1, 62], [68225, 10, 41], [68235, 1, 42], [68236, 1, 43], [68237, 1, 44], [68238, 12, 45], [68250, 2, 46], [68252, 4, 47]],[[68256, 11, 50], [68267, 1, 51], [68268, 1, 52], [68269, 1, 53], [68270, 2, 54], [68272, 2, 55], [68274, 2, 56], [68276, 2, 57], [68278, 2, 58], [68280, 2, 59], [68282, 2, 60], [68284, 4, 61]],[[70144, 11, 27], [70155, 1, 28], [70156, 1, 29], [70157, 1, 30], [70158, 2, 31], [70160, 2, 32], [70162, 2, 33], [70164, 2, 34], [70166, 2, 35], [70168, 2, 36], [70170, 2, 37], [70172, 4, 38]],[[70176, 11, 27], [70187, 1, 28], [70188, 1, 29], [70189, 1, 30], [70190, 2, 31], [70192, 2, 32], [70194, 2, 33], [70196, 2, 34], [70198, 2, 35], [70200, 2, 36], [70202, 2, 37], [70204, 4, 38]],[[70208, 1, 40], [70209, 10, 41], [70219, 1, 42], [70220, 1, 43], [70221, 1, 44], [70222, 12, 45], [70234, 2, 46], [70236, 4, 47]],[[70240, 1, 49], [70241, 10, 50], [70251, 1, 51], [70252, 1, 52], [70253, 1, 53], [70254, 2, 54], [70256, 2, 55], [70258, 2, 56], [70260, 2, 57], [70262, 2, 58], [70264, 2, 59], [70266, 2, 60], [70268, 4, 61]],[[70272, 1, 62], [70273, 10, 41], [70283, 1, 42], [70284, 1, 43], [70285, 1, 44], [70286, 12, 45], [70298, 2, 46], [70300, 4, 47]],[[70304, 11, 50], [70315, 1, 51], [70316, 1, 52], [70317, 1, 53], [70318, 2, 54], [70320, 2, 55], [70322, 2, 56], [70324, 2, 57], [70326, 2, 58], [70328, 2, 59], [70330, 2, 60], [70332, 4, 61]],[[76288, 37, 63]],[[82432, 35, 64]],[[88576, 35, 65]]];
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsHexViewer */summaryUpdate({"pageSize": 1024, "pages": [[0, 25, "BootSector"], [64, 65, "ShortName"], [66, 65, "ShortName"], [68, 65, "ShortName"], [74, 1, "file in A"], [80, 1, "file in B"], [86, 1, "file in C"]], "hotspots": [1, 2, 3, 0, 4, 5, 6]});
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsHexViewer */var versionUpdate = '67ca682bde83338a';var baseVersionUpdate = '67ca682bde83338a';var definitionCountUpdate = 223;var deltaCountUpdate = 0;
\ No newline at end of file
@@ -1 +1 @@
-/* generated by JsHexViewer */var columnCountUpdate = 32;var locationsUpdate = [0, 1, 32859];var dataUpdate = [[[0, 4, 'seek.atom.size'], [4, 4, 'seek.atom.name'], [8, 24, '__EMPTY__']],[[32, 4, 'seek.atom.size'], [36, 4, 'seek.atom.name'], [40, 4, 'seek.atom.size'], [44, 4, 'seek.atom.name'], [48, 1051459, '__EMPTY__']],[[1051507, 4, 'seek.atom.size'], [1051511, 4, 'seek.atom.name']]];
\ No newline at end of file
+/* generated by JsHexViewer */var versionUpdate = 'a29b3c4ce6f14ea6';var columnCountUpdate = 32;var namesUpdate = [[-1, 'seek'], [0, 'atom'], [1, 'size'], [1, 'name'], [-1, '__EMPTY__']];var locationsUpdate = [0, 1, 32859];var dataUpdate = [[[0, 4, 2], [4, 4, 3], [8, 24, 4]],[[32, 4, 2], [36, 4, 3], [40, 4, 2], [44, 4, 3], [48, 1051459, 4]],[[1051507, 4, 2], [1051511, 4, 3]]];
\ No newline at end of file
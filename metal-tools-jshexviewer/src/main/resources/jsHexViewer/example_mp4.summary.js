@@ -0,0 +1 @@
+/* generated by JsHexViewer */summaryUpdate({"pageSize": 1024, "pages": [[0, 8, "seek"], [1026, 2, "seek"]], "hotspots": [0, 1]});
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsHexViewer */var versionUpdate = 'a29b3c4ce6f14ea6';var baseVersionUpdate = 'a29b3c4ce6f14ea6';var definitionCountUpdate = 10;var deltaCountUpdate = 0;
\ No newline at end of file
@@ -1 +1 @@
-/* generated by JsHexViewer */var columnCountUpdate = 32;var locationsUpdate = [0, 1, 2, 258, 514, 515, 771, 1027, 1028, 1284, 1540, 1796, 1797, 2053, 2309, 2565, 2566, 2822, 3078, 3079, 3335, 3591, 3847, 3848, 4104, 4360, 4616, 4617, 4873, 5129, 5130, 5386, 5642, 5898, 5899, 6155, 6411, 6667, 6668, 6924, 7180, 7181, 7437, 7693, 7949, 7950, 8206, 8462, 8718, 8719, 8975, 9231, 9232, 9488, 9744, 10000, 10001, 10257, 10513, 10769, 10770, 11026, 11282, 11283, 11539, 11795, 12051, 12052, 12308, 12564, 12820, 12821, 13077, 13333, 13334, 13590, 13846, 14102, 14103, 14359, 14466, 14467];var dataUpdate = [[[0, 1, 'PNG.signature.highbit'], [1, 3, 'PNG.signature.PNG'], [4, 4, 'PNG.signature.controlchars'], [8, 4, 'PNG.chunk.length'], [12, 4, 'PNG.chunk.type'], [16, 13, 'PNG.chunk.data'], [29, 4, 'PNG.chunk.crc32']],[[33, 4, 'PNG.chunk.length'], [37, 4, 'PNG.chunk.type'], [41, 9, 'PNG.chunk.data'], [50, 4, 'PNG.chunk.crc32'], [54, 4, 'PNG.chunk.length'], [58, 4, 'PNG.chunk.type'], [62, 7, 'PNG.chunk.data']],[[69, 4, 'PNG.chunk.crc32'], [73, 4, 'PNG.chunk.length'], [77, 4, 'PNG.chunk.type'], [81, 8192, 'PNG.chunk.data']],[[8273, 4, 'PNG.chunk.crc32'], [8277, 4, 'PNG.chunk.length'], [8281, 4, 'PNG.chunk.type'], [8285, 8192, 'PNG.chunk.data']],[[16477, 4, 'PNG.chunk.crc32']],[[16481, 4, 'PNG.chunk.length'], [16485, 4, 'PNG.chunk.type'], [16489, 8192, 'PNG.chunk.data']],[[24681, 4, 'PNG.chunk.crc32'], [24685, 4, 'PNG.chunk.length'], [24689, 4, 'PNG.chunk.type'], [24693, 8192, 'PNG.chunk.data']],[[32885, 4, 'PNG.chunk.crc32'], [32889, 4, 'PNG.chunk.length'], [32893, 4, 'PNG.chunk.type']],[[32897, 8192, 'PNG.chunk.data']],[[41089, 4, 'PNG.chunk.crc32'], [41093, 4, 'PNG.chunk.length'], [41097, 4, 'PNG.chunk.type'], [41101, 8192, 'PNG.chunk.data']],[[49293, 4, 'PNG.chunk.crc32'], [49297, 4, 'PNG.chunk.length'], [49301, 4, 'PNG.chunk.type'], [49305, 8192, 'PNG.chunk.data']],[[57497, 4, 'PNG.chunk.crc32'], [57501, 4, 'PNG.chunk.length']],[[57505, 4, 'PNG.chunk.type'], [57509, 8192, 'PNG.chunk.data']],[[65701, 4, 'PNG.chunk.crc32'], [65705, 4, 'PNG.chunk.length'], [65709, 4, 'PNG.chunk.type'], [65713, 8192, 'PNG.chunk.data']],[[73905, 4, 'PNG.chunk.crc32'], [73909, 4, 'PNG.chunk.length'], [73913, 4, 'PNG.chunk.type'], [73917, 8192, 'PNG.chunk.data']],[[82109, 4, 'PNG.chunk.crc32']],[[82113, 4, 'PNG.chunk.length'], [82117, 4, 'PNG.chunk.type'], [82121, 8192, 'PNG.chunk.data']],[[90313, 4, 'PNG.chunk.crc32'], [90317, 4, 'PNG.chunk.length'], [90321, 4, 'PNG.chunk.type'], [90325, 8192, 'PNG.chunk.data']],[[98517, 4, 'PNG.chunk.crc32'], [98521, 4, 'PNG.chunk.length'], [98525, 4, 'PNG.chunk.type']],[[98529, 8192, 'PNG.chunk.data']],[[106721, 4, 'PNG.chunk.crc32'], [106725, 4, 'PNG.chunk.length'], [106729, 4, 'PNG.chunk.type'], [106733, 8192, 'PNG.chunk.data']],[[114925, 4, 'PNG.chunk.crc32'], [114929, 4, 'PNG.chunk.length'], [114933, 4, 'PNG.chunk.type'], [114937, 8192, 'PNG.chunk.data']],[[123129, 4, 'PNG.chunk.crc32'], [123133, 4, 'PNG.chunk.length']],[[123137, 4, 'PNG.chunk.type'], [123141, 8192, 'PNG.chunk.data']],[[131333, 4, 'PNG.chunk.crc32'], [131337, 4, 'PNG.chunk.length'], [131341, 4, 'PNG.chunk.type'], [131345, 8192, 'PNG.chunk.data']],[[139537, 4, 'PNG.chunk.crc32'], [139541, 4, 'PNG.chunk.length'], [139545, 4, 'PNG.chunk.type'], [139549, 8192, 'PNG.chunk.data']],[[147741, 4, 'PNG.chunk.crc32']],[[147745, 4, 'PNG.chunk.length'], [147749, 4, 'PNG.chunk.type'], [147753, 8192, 'PNG.chunk.data']],[[155945, 4, 'PNG.chunk.crc32'], [155949, 4, 'PNG.chunk.length'], [155953, 4, 'PNG.chunk.type'], [155957, 8192, 'PNG.chunk.data']],[[164149, 4, 'PNG.chunk.crc32'], [164153, 4, 'PNG.chunk.length'], [164157, 4, 'PNG.chunk.type']],[[164161, 8192, 'PNG.chunk.data']],[[172353, 4, 'PNG.chunk.crc32'], [172357, 4, 'PNG.chunk.length'], [172361, 4, 'PNG.chunk.type'], [172365, 8192, 'PNG.chunk.data']],[[180557, 4, 'PNG.chunk.crc32'], [180561, 4, 'PNG.chunk.length'], [180565, 4, 'PNG.chunk.type'], [180569, 8192, 'PNG.chunk.data']],[[188761, 4, 'PNG.chunk.crc32'], [188765, 4, 'PNG.chunk.length']],[[188769, 4, 'PNG.chunk.type'], [188773, 8192, 'PNG.chunk.data']],[[196965, 4, 'PNG.chunk.crc32'], [196969, 4, 'PNG.chunk.length'], [196973, 4, 'PNG.chunk.type'], [196977, 8192, 'PNG.chunk.data']],[[205169, 4, 'PNG.chunk.crc32'], [205173, 4, 'PNG.chunk.length'], [205177, 4, 'PNG.chunk.type'], [205181, 8192, 'PNG.chunk.data']],[[213373, 4, 'PNG.chunk.crc32']],[[213377, 4, 'PNG.chunk.length'], [213381, 4, 'PNG.chunk.type'], [213385, 8192, 'PNG.chunk.data']],[[221577, 4, 'PNG.chunk.crc32'], [221581, 4, 'PNG.chunk.length'], [221585, 4, 'PNG.chunk.type'], [221589, 8192, 'PNG.chunk.data']],[[229781, 4, 'PNG.chunk.crc32'], [229785, 4, 'PNG.chunk.length'], [229789, 4, 'PNG.chunk.type']],[[229793, 8192, 'PNG.chunk.data']],[[237985, 4, 'PNG.chunk.crc32'], [237989, 4, 'PNG.chunk.length'], [237993, 4, 'PNG.chunk.type'], [237997, 8192, 'PNG.chunk.data']],[[246189, 4, 'PNG.chunk.crc32'], [246193, 4, 'PNG.chunk.length'], [246197, 4, 'PNG.chunk.type'], [246201, 8192, 'PNG.chunk.data']],[[254393, 4, 'PNG.chunk.crc32'], [254397, 4, 'PNG.chunk.length']],[[254401, 4, 'PNG.chunk.type'], [254405, 8192, 'PNG.chunk.data']],[[262597, 4, 'PNG.chunk.crc32'], [262601, 4, 'PNG.chunk.length'], [262605, 4, 'PNG.chunk.type'], [262609, 8192, 'PNG.chunk.data']],[[270801, 4, 'PNG.chunk.crc32'], [270805, 4, 'PNG.chunk.length'], [270809, 4, 'PNG.chunk.type'], [270813, 8192, 'PNG.chunk.data']],[[279005, 4, 'PNG.chunk.crc32']],[[279009, 4, 'PNG.chunk.length'], [279013, 4, 'PNG.chunk.type'], [279017, 8192, 'PNG.chunk.data']],[[287209, 4, 'PNG.chunk.crc32'], [287213, 4, 'PNG.chunk.length'], [287217, 4, 'PNG.chunk.type'], [287221, 8192, 'PNG.chunk.data']],[[295413, 4, 'PNG.chunk.crc32'], [295417, 4, 'PNG.chunk.length'], [295421, 4, 'PNG.chunk.type']],[[295425, 8192, 'PNG.chunk.data']],[[303617, 4, 'PNG.chunk.crc32'], [303621, 4, 'PNG.chunk.length'], [303625, 4, 'PNG.chunk.type'], [303629, 8192, 'PNG.chunk.data']],[[311821, 4, 'PNG.chunk.crc32'], [311825, 4, 'PNG.chunk.length'], [311829, 4, 'PNG.chunk.type'], [311833, 8192, 'PNG.chunk.data']],[[320025, 4, 'PNG.chunk.crc32'], [320029, 4, 'PNG.chunk.length']],[[320033, 4, 'PNG.chunk.type'], [320037, 8192, 'PNG.chunk.data']],[[328229, 4, 'PNG.chunk.crc32'], [328233, 4, 'PNG.chunk.length'], [328237, 4, 'PNG.chunk.type'], [328241, 8192, 'PNG.chunk.data']],[[336433, 4, 'PNG.chunk.crc32'], [336437, 4, 'PNG.chunk.length'], [336441, 4, 'PNG.chunk.type'], [336445, 8192, 'PNG.chunk.data']],[[344637, 4, 'PNG.chunk.crc32']],[[344641, 4, 'PNG.chunk.length'], [344645, 4, 'PNG.chunk.type'], [344649, 8192, 'PNG.chunk.data']],[[352841, 4, 'PNG.chunk.crc32'], [352845, 4, 'PNG.chunk.length'], [352849, 4, 'PNG.chunk.type'], [352853, 8192, 'PNG.chunk.data']],[[361045, 4, 'PNG.chunk.crc32'], [361049, 4, 'PNG.chunk.length'], [361053, 4, 'PNG.chunk.type']],[[361057, 8192, 'PNG.chunk.data']],[[369249, 4, 'PNG.chunk.crc32'], [369253, 4, 'PNG.chunk.length'], [369257, 4, 'PNG.chunk.type'], [369261, 8192, 'PNG.chunk.data']],[[377453, 4, 'PNG.chunk.crc32'], [377457, 4, 'PNG.chunk.length'], [377461, 4, 'PNG.chunk.type'], [377465, 8192, 'PNG.chunk.data']],[[385657, 4, 'PNG.chunk.crc32'], [385661, 4, 'PNG.chunk.length']],[[385665, 4, 'PNG.chunk.type'], [385669, 8192, 'PNG.chunk.data']],[[393861, 4, 'PNG.chunk.crc32'], [393865, 4, 'PNG.chunk.length'], [393869, 4, 'PNG.chunk.type'], [393873, 8192, 'PNG.chunk.data']],[[402065, 4, 'PNG.chunk.crc32'], [402069, 4, 'PNG.chunk.length'], [402073, 4, 'PNG.chunk.type'], [402077, 8192, 'PNG.chunk.data']],[[410269, 4, 'PNG.chunk.crc32']],[[410273, 4, 'PNG.chunk.length'], [410277, 4, 'PNG.chunk.type'], [410281, 8192, 'PNG.chunk.data']],[[418473, 4, 'PNG.chunk.crc32'], [418477, 4, 'PNG.chunk.length'], [418481, 4, 'PNG.chunk.type'], [418485, 8192, 'PNG.chunk.data']],[[426677, 4, 'PNG.chunk.crc32'], [426681, 4, 'PNG.chunk.length'], [426685, 4, 'PNG.chunk.type']],[[426689, 8192, 'PNG.chunk.data']],[[434881, 4, 'PNG.chunk.crc32'], [434885, 4, 'PNG.chunk.length'], [434889, 4, 'PNG.chunk.type'], [434893, 8192, 'PNG.chunk.data']],[[443085, 4, 'PNG.chunk.crc32'], [443089, 4, 'PNG.chunk.length'], [443093, 4, 'PNG.chunk.type'], [443097, 8192, 'PNG.chunk.data']],[[451289, 4, 'PNG.chunk.crc32'], [451293, 4, 'PNG.chunk.length']],[[451297, 4, 'PNG.chunk.type'], [451301, 8192, 'PNG.chunk.data']],[[459493, 4, 'PNG.chunk.crc32'], [459497, 4, 'PNG.chunk.length'], [459501, 4, 'PNG.chunk.type'], [459505, 3434, 'PNG.chunk.data']],[[462939, 4, 'PNG.chunk.crc32'], [462943, 4, 'PNG.footer.length']],[[462947, 4, 'PNG.footer.type'], [462951, 4, 'PNG.footer.crc32']]];
\ No newline at end of file
+/* generated by JsHexViewer */var versionUpdate = '5980cc963ce76095';var columnCountUpdate = 32;var namesUpdate = [[-1, 'PNG'], [0, 'signature'], [1, 'highbit'], [1, 'PNG'], [1, 'controlchars'], [0, 'chunk'], [5, 'length'], [5, 'type'], [5, 'data'], [5, 'crc32'], [0, 'footer'], [10, 'length'], [10, 'type'], [10, 'crc32']];var locationsUpdate = [0, 1, 2, 258, 514, 515, 771, 1027, 1028, 1284, 1540, 1796, 1797, 2053, 2309, 2565, 2566, 2822, 3078, 3079, 3335, 3591, 3847, 3848, 4104, 4360, 4616, 4617, 4873, 5129, 5130, 5386, 5642, 5898, 5899, 6155, 6411, 6667, 6668, 6924, 7180, 7181, 7437, 7693, 7949, 7950, 8206, 8462, 8718, 8719, 8975, 9231, 9232, 9488, 9744, 10000, 10001, 10257, 10513, 10769, 10770, 11026, 11282, 11283, 11539, 11795, 12051, 12052, 12308, 12564, 12820, 12821, 13077, 13333, 13334, 13590, 13846, 14102, 14103, 14359, 14466, 14467];var dataUpdate = [[[0, 1, 2], [1, 3, 3], [4, 4, 4], [8, 4, 6], [12, 4, 7], [16, 13, 8], [29, 4, 9]],[[33, 4, 6], [37, 4, 7], [41, 9, 8], [50, 4, 9], [54, 4, 6], [58, 4, 7], [62, 7, 8]],[[69, 4, 9], [73, 4, 6], [77, 4, 7], [81, 8192, 8]],[[8273, 4, 9], [8277, 4, 6], [8281, 4, 7], [8285, 8192, 8]],[[16477, 4, 9]],[[16481, 4, 6], [16485, 4, 7], [16489, 8192, 8]],[[24681, 4, 9], [24685, 4, 6], [24689, 4, 7], [24693, 8192, 8]],[[32885, 4, 9], [32889, 4, 6], [32893, 4, 7]],[[32897, 8192, 8]],[[41089, 4, 9], [41093, 4, 6], [41097, 4, 7], [41101, 8192, 8]],[[49293, 4, 9], [49297, 4, 6], [49301, 4, 7], [49305, 8192, 8]],[[57497, 4, 9], [57501, 4, 6]],[[57505, 4, 7], [57509, 8192, 8]],[[65701, 4, 9], [65705, 4, 6], [65709, 4, 7], [65713, 8192, 8]],[[73905, 4, 9], [73909, 4, 6], [73913, 4, 7], [73917, 8192, 8]],[[82109, 4, 9]],[[82113, 4, 6], [82117, 4, 7], [82121, 8192, 8]],[[90313, 4, 9], [90317, 4, 6], [90321, 4, 7], [90325, 8192, 8]],[[98517, 4, 9], [98521, 4, 6], [98525, 4, 7]],[[98529, 8192, 8]],[[106721, 4, 9], [106725, 4, 6], [106729, 4, 7], [106733, 8192, 8]],[[114925, 4, 9], [114929, 4, 6], [114933, 4, 7], [114937, 8192, 8]],[[123129, 4, 9], [123133, 4, 6]],[[123137, 4, 7], [123141, 8192, 8]],[[131333, 4, 9], [131337, 4, 6], [131341, 4, 7], [131345, 8192, 8]],[[139537, 4, 9], [139541, 4, 6], [139545, 4, 7], [139549, 8192, 8]],[[147741, 4, 9]],[[147745, 4, 6], [147749, 4, 7], [147753, 8192, 8]],[[155945, 4, 9], [155949, 4, 6], [155953, 4, 7], [155957, 8192, 8]],[[164149, 4, 9], [164153, 4, 6], [164157, 4, 7]],[[164161, 8192, 8]],[[172353, 4, 9], [172357, 4, 6], [172361, 4, 7], [172365, 8192, 8]],[[180557, 4, 9], [180561, 4, 6], [180565, 4, 7], [180569, 8192, 8]],[[188761, 4, 9], [188765, 4, 6]],[[188769, 4, 7], [188773, 8192, 8]],[[196965, 4, 9], [196969, 4, 6], [196973, 4, 7], [196977, 8192, 8]],[[205169, 4, 9], [205173, 4, 6], [205177, 4, 7], [205181, 8192, 8]],[[213373, 4, 9]],[[213377, 4, 6], [213381, 4, 7], [213385, 8192, 8]],[[221577, 4, 9], [221581, 4, 6], [221585, 4, 7], [221589, 8192, 8]],[[229781, 4, 9], [229785, 4, 6], [229789, 4, 7]],[[229793, 8192, 8]],[[237985, 4, 9], [237989, 4, 6], [237993, 4, 7], [237997, 8192, 8]],[[246189, 4, 9], [246193, 4, 6], [246197, 4, 7], [246201, 8192, 8]],[[254393, 4, 9], [254397, 4, 6]],[[254401, 4, 7], [254405, 8192, 8]],[[262597, 4, 9], [262601, 4, 6], [262605, 4, 7], [262609, 8192, 8]],[[270801, 4, 9], [270805, 4, 6], [270809, 4, 7], [270813, 8192, 8]],[[279005, 4, 9]],[[279009, 4, 6], [279013, 4, 7], [279017, 8192, 8]],[[287209, 4, 9], [287213, 4, 6], [287217, 4, 7], [287221, 8192, 8]],[[295413, 4, 9], [295417, 4, 6], [295421, 4, 7]],[[295425, 8192, 8]],[[303617, 4, 9], [303621, 4, 6], [303625, 4, 7], [303629, 8192, 8]],[[311821, 4, 9], [311825, 4, 6], [311829, 4, 7], [311833, 8192, 8]],[[320025, 4, 9], [320029, 4, 6]],[[320033, 4, 7], [320037, 8192, 8]],[[328229, 4, 9], [328233, 4, 6], [328237, 4, 7], [328241, 8192, 8]],[[336433, 4, 9], [336437, 4, 6], [336441, 4, 7], [336445, 8192, 8]],[[344637, 4, 9]],[[344641, 4, 6], [344645, 4, 7], [344649, 8192, 8]],[[352841, 4, 9], [352845, 4, 6], [352849, 4, 7], [352853, 8192, 8]],[[361045, 4, 9], [361049, 4, 6], [361053, 4, 7]],[[361057, 8192, 8]],[[369249, 4, 9], [369253, 4, 6], [369257, 4, 7], [369261, 8192, 8]],[[377453, 4, 9], [377457, 4, 6], [377461, 4, 7], [377465, 8192, 8]],[[385657, 4, 9], [385661, 4, 6]],[[385665, 4, 7], [385669, 8192, 8]],[[393861, 4, 9], [393865, 4, 6], [393869, 4, 7], [393873, 8192, 8]],[[402065, 4, 9], [402069, 4, 6], [402073, 4, 7], [402077, 8192, 8]],[[410269, 4, 9]],[[410273, 4, 6], [410277, 4, 7], [410281, 8192, 8]],[[418473, 4, 9], [418477, 4, 6], [418481, 4, 7], [418485, 8192, 8]],[[426677, 4, 9], [426681, 4, 6], [426685, 4, 7]],[[426689, 8192, 8]],[[434881, 4, 9], [434885, 4, 6], [434889, 4, 7], [434893, 8192, 8]],[[443085, 4, 9], [443089, 4, 6], [443093, 4, 7], [443097, 8192, 8]],[[451289, 4, 9], [451293, 4, 6]],[[451297, 4, 7], [451301, 8192, 8]],[[459493, 4, 9], [459497, 4, 6], [459501, 4, 7], [459505, 3434, 8]],[[462939, 4, 9], [462943, 4, 11]],[[462947, 4, 12], [462951, 4, 13]]];
\ No newline at end of file
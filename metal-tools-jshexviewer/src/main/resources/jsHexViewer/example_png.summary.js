@@ -0,0 +1 @@
+/* generated by JsHexViewer */summaryUpdate({"pageSize": 1024, "pages": [[0, 18, "PNG"], [8, 4, "chunk"], [16, 4, "PNG"], [24, 4, "PNG"], [32, 4, "PNG"], [40, 4, "PNG"], [48, 4, "PNG"], [56, 4, "PNG"], [64, 4, "PNG"], [72, 4, "PNG"], [80, 4, "PNG"], [88, 4, "PNG"], [96, 4, "PNG"], [104, 4, "PNG"], [112, 4, "PNG"], [120, 4, "PNG"], [128, 4, "PNG"], [136, 4, "PNG"], [144, 4, "PNG"], [152, 4, "PNG"], [160, 4, "PNG"], [168, 4, "PNG"], [176, 4, "PNG"], [184, 4, "PNG"], [192, 4, "PNG"], [200, 4, "PNG"], [208, 4, "PNG"], [216, 4, "PNG"], [224, 4, "PNG"], [232, 4, "PNG"], [240, 4, "PNG"], [248, 4, "PNG"], [256, 4, "PNG"], [264, 4, "PNG"], [272, 4, "PNG"], [280, 4, "PNG"], [288, 4, "PNG"], [296, 4, "PNG"], [304, 4, "PNG"], [312, 4, "PNG"], [320, 4, "PNG"], [328, 4, "PNG"], [336, 4, "PNG"], [344, 4, "PNG"], [352, 4, "PNG"], [360, 4, "PNG"], [368, 4, "PNG"], [376, 4, "PNG"], [384, 4, "PNG"], [392, 4, "PNG"], [400, 4, "PNG"], [408, 4, "PNG"], [416, 4, "PNG"], [424, 4, "PNG"], [432, 4, "PNG"], [440, 4, "PNG"], [448, 4, "PNG"], [452, 4, "PNG"]], "hotspots": [0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29]});
\ No newline at end of file
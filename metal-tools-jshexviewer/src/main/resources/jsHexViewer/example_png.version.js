@@ -0,0 +1 @@
+/* generated by JsHexViewer */var versionUpdate = '5980cc963ce76095';var baseVersionUpdate = '5980cc963ce76095';var definitionCountUpdate = 246;var deltaCountUpdate = 0;
\ No newline at end of file
@@ -1 +1 @@
-/* generated by JsHexViewer */var columnCountUpdate = 32;var locationsUpdate = [0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10];var dataUpdate = [[[0, 2, 'HEAD_CRC'], [2, 1, 'HEAD_TYPE'], [3, 2, 'HEAD_FLAGS'], [5, 2, 'HEAD_SIZE'], [7, 2, 'HEAD_CRC'], [9, 1, 'HEAD_TYPE'], [10, 2, 'HEAD_FLAGS'], [12, 2, 'HEAD_SIZE'], [14, 2, 'RESERVED1'], [16, 4, 'RESERVED2'], [20, 2, 'HEAD_CRC'], [22, 1, 'HEAD_TYPE'], [23, 2, 'HEAD_FLAGS'], [25, 2, 'HEAD_SIZE'], [27, 4, 'PACK_SIZE'], [31, 4, 'UNP_SIZE']],[[35, 1, 'HOST_OS.Unix'], [36, 4, 'FILE_CRC'], [40, 4, 'FTIME'], [44, 1, 'UNP_VER'], [45, 1, 'METHOD.Normal Compression'], [46, 2, 'NAME_SIZE'], [48, 4, 'ATTR'], [52, 12, 'FILE_NAME']],[[64, 25, 'FILE'], [89, 2, 'HEAD_CRC'], [91, 1, 'HEAD_TYPE'], [92, 2, 'HEAD_FLAGS'], [94, 2, 'HEAD_SIZE']],[[96, 4, 'PACK_SIZE'], [100, 4, 'UNP_SIZE'], [104, 1, 'HOST_OS.Unix'], [105, 4, 'FILE_CRC'], [109, 4, 'FTIME'], [113, 1, 'UNP_VER'], [114, 1, 'METHOD.Normal Compression'], [115, 2, 'NAME_SIZE'], [117, 4, 'ATTR'], [121, 21, 'FILE_NAME']],[[142, 32, 'FILE']],[[174, 2, 'HEAD_CRC'], [176, 1, 'HEAD_TYPE'], [177, 2, 'HEAD_FLAGS'], [179, 2, 'HEAD_SIZE'], [181, 4, 'PACK_SIZE'], [185, 4, 'UNP_SIZE'], [189, 1, 'HOST_OS.Unix'], [190, 4, 'FILE_CRC']],[[194, 4, 'FTIME'], [198, 1, 'UNP_VER'], [199, 1, 'METHOD.Normal Compression'], [200, 2, 'NAME_SIZE'], [202, 4, 'ATTR'], [206, 24, 'FILE_NAME']],[[230, 25, 'FILE'], [255, 2, 'HEAD_CRC']],[[257, 1, 'HEAD_TYPE'], [258, 2, 'HEAD_FLAGS'], [260, 2, 'HEAD_SIZE'], [262, 4, 'PACK_SIZE'], [266, 4, 'UNP_SIZE'], [270, 1, 'HOST_OS.Unix'], [271, 4, 'FILE_CRC'], [275, 4, 'FTIME'], [279, 1, 'UNP_VER'], [280, 1, 'METHOD.Storing'], [281, 2, 'NAME_SIZE'], [283, 4, 'ATTR'], [287, 13, 'FILE_NAME']],[[300, 2, 'HEAD_CRC'], [302, 1, 'HEAD_TYPE'], [303, 2, 'HEAD_FLAGS'], [305, 2, 'HEAD_SIZE'], [307, 4, 'PACK_SIZE'], [311, 4, 'UNP_SIZE'], [315, 1, 'HOST_OS.Unix'], [316, 4, 'FILE_CRC']],[[320, 4, 'FTIME'], [324, 1, 'UNP_VER'], [325, 1, 'METHOD.Storing'], [326, 2, 'NAME_SIZE'], [328, 4, 'ATTR'], [332, 6, 'FILE_NAME'], [338, 2, 'EXT_TIME'], [340, 2, 'HEAD_CRC'], [342, 1, 'HEAD_TYPE'], [343, 2, 'HEAD_FLAGS'], [345, 2, 'HEAD_SIZE']]];
\ No newline at end of file
+/* generated by JsHexViewer */var versionUpdate = 'ec0a563f709695e4';var columnCountUpdate = 32;var namesUpdate = [[-1, 'HEAD_CRC'], [-1, 'HEAD_TYPE'], [-1, 'HEAD_FLAGS'], [-1, 'HEAD_SIZE'], [-1, 'RESERVED1'], [-1, 'RESERVED2'], [-1, 'PACK_SIZE'], [-1, 'UNP_SIZE'], [-1, 'HOST_OS'], [8, 'Unix'], [-1, 'FILE_CRC'], [-1, 'FTIME'], [-1, 'UNP_VER'], [-1, 'METHOD'], [13, 'Normal Compression'], [-1, 'NAME_SIZE'], [-1, 'ATTR'], [-1, 'FILE_NAME'], [-1, 'FILE'], [13, 'Storing'], [-1, 'EXT_TIME']];var locationsUpdate = [0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10];var dataUpdate = [[[0, 2, 0], [2, 1, 1], [3, 2, 2], [5, 2, 3], [7, 2, 0], [9, 1, 1], [10, 2, 2], [12, 2, 3], [14, 2, 4], [16, 4, 5], [20, 2, 0], [22, 1, 1], [23, 2, 2], [25, 2, 3], [27, 4, 6], [31, 4, 7]],[[35, 1, 9], [36, 4, 10], [40, 4, 11], [44, 1, 12], [45, 1, 14], [46, 2, 15], [48, 4, 16], [52, 12, 17]],[[64, 25, 18], [89, 2, 0], [91, 1, 1], [92, 2, 2], [94, 2, 3]],[[96, 4, 6], [100, 4, 7], [104, 1, 9], [105, 4, 10], [109, 4, 11], [113, 1, 12], [114, 1, 14], [115, 2, 15], [117, 4, 16], [121, 21, 17]],[[142, 32, 18]],[[174, 2, 0], [176, 1, 1], [177, 2, 2], [179, 2, 3], [181, 4, 6], [185, 4, 7], [189, 1, 9], [190, 4, 10]],[[194, 4, 11], [198, 1, 12], [199, 1, 14], [200, 2, 15], [202, 4, 16], [206, 24, 17]],[[230, 25, 18], [255, 2, 0]],[[257, 1, 1], [258, 2, 2], [260, 2, 3], [262, 4, 6], [266, 4, 7], [270, 1, 9], [271, 4, 10], [275, 4, 11], [279, 1, 12], [280, 1, 19], [281, 2, 15], [283, 4, 16], [287, 13, 17]],[[300, 2, 0], [302, 1, 1], [303, 2, 2], [305, 2, 3], [307, 4, 6], [311, 4, 7], [315, 1, 9], [316, 4, 10]],[[320, 4, 11], [324, 1, 12], [325, 1, 19], [326, 2, 15], [328, 4, 16], [332, 6, 17], [338, 2, 20], [340, 2, 0], [342, 1, 1], [343, 2, 2], [345, 2, 3]]];
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsHexViewer */summaryUpdate({"pageSize": 1024, "pages": [[0, 88, "HEAD_CRC"]], "hotspots": [0]});
\ No newline at end of file
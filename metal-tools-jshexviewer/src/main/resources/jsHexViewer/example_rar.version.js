@@ -0,0 +1 @@
+/* generated by JsHexViewer */var versionUpdate = 'ec0a563f709695e4';var baseVersionUpdate = 'ec0a563f709695e4';var definitionCountUpdate = 88;var deltaCountUpdate = 0;
\ No newline at end of file
@@ -1 +1 @@
-/* generated by JsHexViewer */var columnCountUpdate = 32;var locationsUpdate = [0, 1, 2, 3, 4, 5];var dataUpdate = [[[0, 4, 'ZIP.files.localstoredfile.filesignature'], [4, 2, 'ZIP.files.localstoredfile.extractversion'], [6, 2, 'ZIP.files.localstoredfile.bitflag'], [8, 2, 'ZIP.files.localstoredfile.compressionmethod'], [10, 2, 'ZIP.files.localstoredfile.lastmodtime'], [12, 2, 'ZIP.files.localstoredfile.lastmoddate'], [14, 4, 'ZIP.files.localstoredfile.crc32'], [18, 4, 'ZIP.files.localstoredfile.compressedsize'], [22, 4, 'ZIP.files.localstoredfile.uncompressedsize'], [26, 2, 'ZIP.files.localstoredfile.filenamesize'], [28, 2, 'ZIP.files.localstoredfile.extrafieldsize'], [30, 4, 'ZIP.files.localstoredfile.filename']],[[34, 28, 'ZIP.files.localstoredfile.extrafield'], [62, 8, 'ZIP.files.localstoredfile.compresseddata']],[[70, 4, 'ZIP.direntries.direntry.dirsignature'], [74, 2, 'ZIP.direntries.direntry.makeversion'], [76, 2, 'ZIP.direntries.direntry.extractversion'], [78, 2, 'ZIP.direntries.direntry.bitflag'], [80, 2, 'ZIP.direntries.direntry.compressionmethod'], [82, 2, 'ZIP.direntries.direntry.lastmodtime'], [84, 2, 'ZIP.direntries.direntry.lastmoddate'], [86, 4, 'ZIP.direntries.direntry.crc32'], [90, 4, 'ZIP.direntries.direntry.compressedsize'], [94, 4, 'ZIP.direntries.direntry.uncompressedsize']],[[98, 2, 'ZIP.direntries.direntry.filenamesize'], [100, 2, 'ZIP.direntries.direntry.extrafieldsize'], [102, 2, 'ZIP.direntries.direntry.filecommentsize'], [104, 2, 'ZIP.direntries.direntry.filedisk'], [106, 2, 'ZIP.direntries.direntry.intfileattr'], [108, 4, 'ZIP.direntries.direntry.extfileattr'], [112, 4, 'ZIP.direntries.direntry.offset'], [116, 4, 'ZIP.direntries.direntry.filename'], [120, 24, 'ZIP.direntries.direntry.extrafield']],[[144, 4, 'ZIP.endofdir.endofdirsignature'], [148, 2, 'ZIP.endofdir.disknumber'], [150, 2, 'ZIP.endofdir.dirdisk'], [152, 2, 'ZIP.endofdir.numlocaldirs'], [154, 2, 'ZIP.endofdir.numtotaldirs'], [156, 4, 'ZIP.endofdir.dirsize']],[[160, 4, 'ZIP.endofdir.diroffset'], [164, 2, 'ZIP.endofdir.commentsize']]];
\ No newline at end of file
+/* generated by JsHexViewer */var versionUpdate = '04ec8af0f5a6b13a';var columnCountUpdate = 32;var namesUpdate = [[-1, 'ZIP'], [0, 'files'], [1, 'localstoredfile'], [2, 'filesignature'], [2, 'extractversion'], [2, 'bitflag'], [2, 'compressionmethod'], [2, 'lastmodtime'], [2, 'lastmoddate'], [2, 'crc32'], [2, 'compressedsize'], [2, 'uncompressedsize'], [2, 'filenamesize'], [2, 'extrafieldsize'], [2, 'filename'], [2, 'extrafield'], [2, 'compresseddata'], [0, 'direntries'], [17, 'direntry'], [18, 'dirsignature'], [18, 'makeversion'], [18, 'extractversion'], [18, 'bitflag'], [18, 'compressionmethod'], [18, 'lastmodtime'], [18, 'lastmoddate'], [18, 'crc32'], [18, 'compressedsize'], [18, 'uncompressedsize'], [18, 'filenamesize'], [18, 'extrafieldsize'], [18, 'filecommentsize'], [18, 'filedisk'], [18, 'intfileattr'], [18, 'extfileattr'], [18, 'offset'], [18, 'filename'], [18, 'extrafield'], [0, 'endofdir'], [38, 'endofdirsignature'], [38, 'disknumber'], [38, 'dirdisk'], [38, 'numlocaldirs'], [38, 'numtotaldirs'], [38, 'dirsize'], [38, 'diroffset'], [38, 'commentsize']];var locationsUpdate = [0, 1, 2, 3, 4, 5];var dataUpdate = [[[0, 4, 3], [4, 2, 4], [6, 2, 5], [8, 2, 6], [10, 2, 7], [12, 2, 8], [14, 4, 9], [18, 4, 10], [22, 4, 11], [26, 2, 12], [28, 2, 13], [30, 4, 14]],[[34, 28, 15], [62, 8, 16]],[[70, 4, 19], [74, 2, 20], [76, 2, 21], [78, 2, 22], [80, 2, 23], [82, 2, 24], [84, 2, 25], [86, 4, 26], [90, 4, 27], [94, 4, 28]],[[98, 2, 29], [100, 2, 30], [102, 2, 31], [104, 2, 32], [106, 2, 33], [108, 4, 34], [112, 4, 35], [116, 4, 36], [120, 24, 37]],[[144, 4, 39], [148, 2, 40], [150, 2, 41], [152, 2, 42], [154, 2, 43], [156, 4, 44]],[[160, 4, 45], [164, 2, 46]]];
\ No newline at end of file
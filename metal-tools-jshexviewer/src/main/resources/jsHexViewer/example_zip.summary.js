@@ -0,0 +1 @@
+/* generated by JsHexViewer */summaryUpdate({"pageSize": 1024, "pages": [[0, 41, "ZIP"]], "hotspots": [0]});
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsHexViewer */var versionUpdate = '04ec8af0f5a6b13a';var baseVersionUpdate = '04ec8af0f5a6b13a';var definitionCountUpdate = 41;var deltaCountUpdate = 0;
\ No newline at end of file
@@ -0,0 +1,139 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+import static java.math.BigInteger.valueOf;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CoverageTest {
+
+	@Test
+	void testCoverage() throws Exception {
+		final DefinitionIndex index = new DefinitionIndex(16);
+		index.add(valueOf(4), valueOf(4), "a");
+		index.add(valueOf(0), valueOf(2), "b");
+		index.add(valueOf(2), valueOf(1), "c");
+		index.add(valueOf(20), valueOf(2), "d");
+		index.add(valueOf(16), valueOf(2), "e");
+		index.add(valueOf(6), valueOf(10), "f");
+		index.add(valueOf(40), valueOf(0), "empty");
+		index.add(BigInteger.ONE.shiftLeft(70), valueOf(1), "big");
+		index.sort();
+		final Coverage coverage = new Coverage(index, 50);
+
+		assertEquals(3, coverage.getRunCount());
+		assertEquals(0, coverage.getRunStart(0));
+		assertEquals(3, coverage.getRunEnd(0));
+		assertEquals(4, coverage.getRunStart(1));
+		assertEquals(18, coverage.getRunEnd(1));
+		assertEquals(19, coverage.getCoveredBytes());
+		final List<long[]> gaps = coverage.getGaps(3);
+		assertEquals(3, gaps.size());
+		assertArrayEquals(new long[] { 22, 28 }, gaps.get(0));
+		assertArrayEquals(new long[] { 18, 2 }, gaps.get(1));
+		assertArrayEquals(new long[] { 3, 1 }, gaps.get(2));
+
+		final StringWriter writer = new StringWriter();
+		new Coverage(index, 10).write(writer);
+		assertEquals("{\"size\": 10, \"covered\": 9, \"runs\": 3, \"gaps\": [[3, 1]], \"minimapScale\": 1, \"minimap\": [100, 100, 100, 0, 100, 100, 100, 100, 100, 100]}", writer.toString());
+
+		// Without a size, the data ends with the last definition, also when it is empty
+		assertEquals(40, new Coverage(index, -1).getSize());
+	}
+
+	@Test
+	void testRandom() {
+		final Random random = new Random(42);
+		final int size = 100_000;
+		final DefinitionIndex index = new DefinitionIndex(32);
+		final boolean[] covered = new boolean[size];
+		for (int i = 0; i < 20_000; i++) {
+			final int offset = random.nextInt(size + 100);
+			final int length = random.nextInt(random.nextInt(100) == 0 ? 2000 : 8);
+			index.add(valueOf(offset), valueOf(length), "n");
+			for (int position = offset; position < Math.min(offset + length, size); position++) {
+				covered[position] = true;
+			}
+		}
+		index.sort();
+		final Coverage coverage = new Coverage(index, size);
+
+		long count = 0;
+		long largestGap = 0;
+		for (int position = 0, gap = 0; position < size; position++) {
+			count += covered[position] ? 1 : 0;
+			gap = covered[position] ? 0 : gap + 1;
+			largestGap = Math.max(largestGap, gap);
+		}
+		assertEquals(count, coverage.getCoveredBytes());
+		assertEquals(largestGap, coverage.getGaps(1).get(0)[1]);
+		for (int i = 0; i < coverage.getRunCount(); i++) {
+			assertTrue(covered[(int) coverage.getRunStart(i)]);
+			assertTrue(i == 0 || coverage.getRunStart(i) > coverage.getRunEnd(i - 1));
+		}
+
+		final int[] minimap = coverage.getMinimap();
+		final long scale = coverage.getMinimapScale();
+		assertEquals((size + scale - 1) / scale, minimap.length);
+		assertTrue(minimap.length <= Coverage.MINIMAP_SIZE);
+		for (int part = 0; part < minimap.length; part++) {
+			int partCovered = 0;
+			int partSize = 0;
+			for (long position = part * scale; position < Math.min((part + 1) * scale, size); position++, partSize++) {
+				partCovered += covered[(int) position] ? 1 : 0;
+			}
+			assertEquals(partCovered == 0, minimap[part] == 0);
+			assertEquals(partCovered == partSize, minimap[part] == 100);
+		}
+	}
+
+	@Test
+	void testAdd() throws Exception {
+		final Random random = new Random(42);
+		final DefinitionIndex all = new DefinitionIndex(32);
+		final Coverage coverage = new Coverage(-1);
+		for (int batch = 0; batch < 50; batch++) {
+			final DefinitionIndex added = new DefinitionIndex(32);
+			for (int i = 0; i < 200; i++) {
+				final BigInteger offset = valueOf(random.nextInt(100_000));
+				final BigInteger length = valueOf(random.nextInt(random.nextInt(100) == 0 ? 2000 : 8));
+				all.add(offset, length, "n");
+				added.add(offset, length, "n");
+			}
+			added.sort();
+			coverage.add(added);
+		}
+		all.sort();
+
+		// Adding the definitions in batches, in any order, gives the same runs as adding them at once
+		final StringWriter expected = new StringWriter();
+		new Coverage(all, -1).write(expected);
+		final StringWriter actual = new StringWriter();
+		coverage.write(actual);
+		assertEquals(expected.toString(), actual.toString());
+	}
+}
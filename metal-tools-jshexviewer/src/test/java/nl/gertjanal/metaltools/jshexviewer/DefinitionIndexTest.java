@@ -0,0 +1,139 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+import static java.math.BigInteger.valueOf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class DefinitionIndexTest {
+
+	@Test
+	void testSortKeepsParseOrderWithinRow() {
+		final DefinitionIndex index = new DefinitionIndex(32);
+		index.add(valueOf(70), valueOf(2), "c");
+		index.add(valueOf(10), valueOf(4), "a");
+		index.add(valueOf(2), valueOf(1), "b");
+		index.add(valueOf(64), valueOf(1), "c");
+		index.sort();
+
+		assertEquals(4, index.size());
+		assertEquals("a", index.getName(0));
+		assertEquals("b", index.getName(1));
+		assertEquals(70, index.getOffset(2));
+		assertEquals(64, index.getOffset(3));
+		assertEquals(index.getNameId(2), index.getNameId(3));
+		assertEquals(3, index.getNames().size());
+		assertEquals(0, index.getNameId(0));
+
+		assertTrue(index.isRowStart(0));
+		assertFalse(index.isRowStart(1));
+		assertTrue(index.isRowStart(2));
+		assertEquals(2, index.indexOfRow(2));
+		assertEquals(-3, index.indexOfRow(1));
+	}
+
+	@Test
+	void testOverflow() throws Exception {
+		final BigInteger big = BigInteger.ONE.shiftLeft(70);
+		final DefinitionIndex index = new DefinitionIndex(32);
+		index.add(big, valueOf(2), "big");
+		index.add(valueOf(1), valueOf(1), "small");
+		index.sort();
+
+		assertFalse(index.isOverflow(0));
+		assertTrue(index.isOverflow(1));
+		assertEquals(big, index.getBigOffset(1));
+		assertEquals(big.shiftRight(5), index.getBigRow(1));
+
+		final StringWriter writer = new StringWriter();
+		JsHexViewer.generateJs(index, writer);
+		assertEquals("/* generated by JsHexViewer */var versionUpdate = '" + String.format("%016x", index.version()) + "';var columnCountUpdate = 32;var namesUpdate = [[-1, 'small'], [-1, 'big']];"
+			+ "var locationsUpdate = [0, [2, 0, 0]];var dataUpdate = [[[1, 1, 0]],[[[64, 0, 0], 2, 1]]];", writer.toString());
+	}
+
+	@Test
+	void testNumber() {
+		assertEquals("9007199254740991", JsHexViewer.number((1L << 53) - 1));
+		assertEquals("[2097152, 0]", JsHexViewer.number(1L << 53));
+		assertEquals("[2147483647, 4294967295]", JsHexViewer.number(Long.MAX_VALUE));
+		assertEquals("[1, 0, 5]", JsHexViewer.number(BigInteger.ONE.shiftLeft(64).add(valueOf(5))));
+	}
+
+	@Test
+	void testVersion() {
+		final DefinitionIndex previous = new DefinitionIndex(32);
+		previous.add(valueOf(70), valueOf(2), "c");
+		previous.add(valueOf(10), valueOf(4), "a");
+		previous.sort();
+
+		final DefinitionIndex index = new DefinitionIndex(32);
+		index.add(valueOf(70), valueOf(2), "c");
+		index.add(valueOf(10), valueOf(4), "a");
+		index.add(valueOf(2), valueOf(1), "b");
+		index.sort();
+
+		assertEquals(1, index.getParsePosition(0));
+		assertEquals(2, index.getParsePosition(1));
+		assertEquals(0, index.getParsePosition(2));
+		assertEquals(previous.version(), index.version(2));
+		assertNotEquals(previous.version(), index.version());
+		assertNotEquals(index.version(1), index.version(2));
+
+		// The version of the added definitions continues the version of the earlier ones
+		final DefinitionIndex added = new DefinitionIndex(32);
+		added.add(valueOf(2), valueOf(1), "b");
+		added.sort();
+		assertEquals(index.version(), added.extendVersion(previous.version()));
+	}
+
+	@Test
+	void testSortParallel() {
+		final DefinitionIndex serial = new DefinitionIndex(32);
+		final DefinitionIndex parallel = new DefinitionIndex(32);
+		for (int i = 0; i < 50_000; i++) {
+			// Rows in reverse order, with a few definitions per row
+			final long offset = (50_000 - i / 3) * 32L + i % 3;
+			serial.add(valueOf(offset), valueOf(1), "n" + i % 7);
+			parallel.add(valueOf(offset), valueOf(1), "n" + i % 7);
+		}
+		serial.sort();
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			parallel.sort(pool);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		for (int i = 0; i < serial.size(); i++) {
+			assertEquals(serial.getOffset(i), parallel.getOffset(i));
+			assertEquals(serial.getNameId(i), parallel.getNameId(i));
+			assertEquals(serial.getParsePosition(i), parallel.getParsePosition(i));
+		}
+		assertEquals(serial.version(), parallel.version());
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+import static java.math.BigInteger.valueOf;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IntervalIndexTest {
+
+	@Test
+	void testNested() {
+		final DefinitionIndex index = new DefinitionIndex(32);
+		index.add(valueOf(0), valueOf(1000), "outer");
+		index.add(valueOf(10), valueOf(100), "inner");
+		index.add(valueOf(20), valueOf(4), "value");
+		index.add(valueOf(500), valueOf(0), "empty");
+		index.add(BigInteger.ONE.shiftLeft(70), valueOf(1), "big");
+		index.sort();
+		final IntervalIndex intervals = new IntervalIndex(index);
+
+		assertEquals(4, intervals.size());
+		assertEquals("[outer, inner, value]", names(index, intervals.stab(21)));
+		assertEquals("[outer]", names(index, intervals.stab(500)));
+		assertEquals("[outer, inner]", names(index, intervals.query(100, 200)));
+		assertEquals("[]", names(index, intervals.stab(1000)));
+		assertEquals("value", index.getName(intervals.innermost(23)));
+		assertEquals("outer", index.getName(intervals.innermost(999)));
+		assertEquals(-1, intervals.innermost(1000));
+	}
+
+	@Test
+	void testRandom() {
+		final Random random = new Random(42);
+		final DefinitionIndex index = new DefinitionIndex(32);
+		for (int i = 0; i < 10_000; i++) {
+			final long offset = random.nextInt(100_000);
+			final long length = random.nextInt(10) == 0 ? random.nextInt(20_000) : random.nextInt(16);
+			index.add(valueOf(offset), valueOf(length), "n" + i % 5);
+		}
+		index.sort();
+		final IntervalIndex intervals = new IntervalIndex(index);
+
+		for (int query = 0; query < 1_000; query++) {
+			final long from = random.nextInt(120_000);
+			final long to = from + 1 + random.nextInt(100);
+			final int[] expected = new int[index.size()];
+			int size = 0;
+			for (int i = 0; i < index.size(); i++) {
+				if (index.getOffset(i) < to && index.getOffset(i) + index.getLength(i) > from) {
+					expected[size++] = i;
+				}
+			}
+			final int[] actual = intervals.query(from, to);
+			Arrays.sort(actual);
+			assertArrayEquals(Arrays.copyOf(expected, size), actual);
+		}
+	}
+
+	private String names(final DefinitionIndex index, final int[] indices) {
+		final String[] names = new String[indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			names[i] = index.getName(indices[i]);
+		}
+		return Arrays.toString(names);
+	}
+}
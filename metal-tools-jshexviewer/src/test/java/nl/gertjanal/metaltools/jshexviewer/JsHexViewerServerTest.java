@@ -0,0 +1,100 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static io.parsingdata.metal.Shorthand.def;
+import static io.parsingdata.metal.Shorthand.last;
+import static io.parsingdata.metal.Shorthand.ref;
+import static io.parsingdata.metal.Shorthand.rep;
+import static io.parsingdata.metal.Shorthand.seq;
+import static io.parsingdata.metal.util.EncodingFactory.le;
+import static io.parsingdata.metal.util.EnvironmentFactory.env;
+import static io.parsingdata.metal.util.ParseStateFactory.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import io.parsingdata.metal.data.ParseGraph;
+import io.parsingdata.metal.token.Token;
+
+class JsHexViewerServerTest {
+	private static final Token STRING = seq(def("length", 1), def("text", last(ref("length"))));
+
+	@Test
+	void testServe() throws Exception {
+		final byte[] data = { 1, 'a', 2, 'b', 'c' };
+		final Path file = Files.createTempFile("jsHexViewer", ".bin");
+		Files.write(file, data);
+		try (JsHexViewerServer server = JsHexViewer.serve(parse(1, 'a'), file, 0)) {
+			final String url = "http://localhost:" + server.getPort() + "/";
+			assertTrue(get(url).contains("var serverUrl = '/';"));
+			assertTrue(get(url + "libs/jquery-1.11.3/jquery.min.js").startsWith("/*!"));
+			assertTrue(get(url + "manifest").contains("\"names\": [[-1, \"length\"], [-1, \"text\"]]"));
+			assertEquals("[[0, 1, 0], [1, 1, 1]]", get(url + "definitions?from=0&to=5"));
+			assertEquals("[[1, 1, 1]]", get(url + "definitions?from=1&to=2"));
+			assertEquals("{\"pageSize\": 1024, \"pages\": [[0, 2, \"length\"]], \"hotspots\": [0]}", get(url + "summary"));
+			assertEquals("{\"size\": 5, \"covered\": 2, \"runs\": 1, \"gaps\": [[2, 3]], \"minimapScale\": 1, \"minimap\": [100, 100, 0, 0, 0]}", get(url + "coverage"));
+
+			// Only the requested bytes are sent
+			final HttpURLConnection range = (HttpURLConnection) new URL(url + "data").openConnection();
+			range.setRequestProperty("Range", "bytes=2-3");
+			assertEquals(206, range.getResponseCode());
+			assertEquals("bytes 2-3/5", range.getHeaderField("Content-Range"));
+			try (InputStream in = range.getInputStream()) {
+				assertArrayEquals(new byte[] { 2, 'b' }, IOUtils.toByteArray(in));
+			}
+
+			// A viewer that waits for a new version is answered on update
+			final String version = get(url + "version?since=");
+			final CompletableFuture<String> poll = CompletableFuture.supplyAsync(() -> get(url + "version?since=" + version.substring(13, 29)));
+			server.update(parse(1, 'a', 2, 'b', 'c'));
+			assertNotEquals(version, poll.get());
+			assertEquals("[[2, 1, 0], [3, 2, 1]]", get(url + "definitions?from=2&to=5"));
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+
+	private ParseGraph parse(final int... data) {
+		return rep(STRING).parse(env(stream(data), le())).get().order;
+	}
+
+	private String get(final String url) {
+		try (InputStream in = new URL(url).openStream()) {
+			return new String(IOUtils.toByteArray(in), UTF_8);
+		}
+		catch (final IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -19,34 +19,69 @@ package nl.gertjanal.metaltools.jshexviewer;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import static org.apache.commons.io.IOUtils.copy;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import static io.parsingdata.metal.Shorthand.cho;
+import static io.parsingdata.metal.Shorthand.con;
 import static io.parsingdata.metal.Shorthand.def;
+import static io.parsingdata.metal.Shorthand.eq;
 import static io.parsingdata.metal.Shorthand.last;
 import static io.parsingdata.metal.Shorthand.ref;
+import static io.parsingdata.metal.Shorthand.rep;
 import static io.parsingdata.metal.Shorthand.seq;
+import static io.parsingdata.metal.Shorthand.sub;
 import static io.parsingdata.metal.util.EncodingFactory.le;
 import static io.parsingdata.metal.util.EnvironmentFactory.env;
 import static io.parsingdata.metal.util.ParseStateFactory.stream;
 import static nl.gertjanal.metaltools.jshexviewer.JsHexViewer.generate;
+import static nl.gertjanal.metaltools.jshexviewer.JsHexViewer.generateAll;
+import static nl.gertjanal.metaltools.jshexviewer.JsHexViewer.generateBinary;
+import static nl.gertjanal.metaltools.jshexviewer.JsHexViewer.generateJs;
+import static nl.gertjanal.metaltools.jshexviewer.JsHexViewer.generateShards;
+import static nl.gertjanal.metaltools.jshexviewer.JsHexViewer.index;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
 
 import io.parsingdata.metal.data.Environment;
+import io.parsingdata.metal.data.ParseGraph;
 import io.parsingdata.metal.data.ParseState;
+import io.parsingdata.metal.data.callback.Callback;
+import io.parsingdata.metal.data.callback.Callbacks;
 import io.parsingdata.metal.format.PNG;
 import io.parsingdata.metal.format.ZIP;
 import io.parsingdata.metal.token.Token;
 import io.parsingdata.metal.util.EnvironmentFactory;
+import io.parsingdata.metal.util.InMemoryByteStream;
+import nl.gertjanal.metaltools.core.BatchGenerator.Job;
+import nl.gertjanal.metaltools.core.BatchGenerator.Result;
 import nl.gertjanal.metaltools.formats.fat16.FAT16;
 import nl.gertjanal.metaltools.formats.mp4.MP4;
 import nl.gertjanal.metaltools.formats.rar.RAR;
@@ -54,6 +89,8 @@ import nl.gertjanal.metaltools.formats.rar.RAR;
 class JsHexViewerTest {
 	private static final boolean RENEW = false;
 	private static final Token STRING = seq(def("length", 1), def("text", last(ref("length"))));
+	private static final Pattern VERSION = Pattern.compile("var versionUpdate = '(\\p{XDigit}+)';var baseVersionUpdate = '(\\p{XDigit}+)';"
+		+ "var definitionCountUpdate = (\\d+);var deltaCountUpdate = (\\d+);");
 
 	@Test
 	void testGenerateData() throws Exception {
@@ -102,6 +139,311 @@ class JsHexViewerTest {
 		assertGenerate(result, "example_fat16");
 	}
 
+	@Test
+	void testGenerateDeepGraph() throws Exception {
+		// A long rep results in a tail chain that is too deep to walk recursively
+		final int size = 200_000;
+		final ParseState parseState = ParseState.createFromByteStream(new InMemoryByteStream(new byte[size]));
+		final Optional<ParseState> result = rep(def("byte", 1)).parse(env(parseState, le()));
+		assertTrue(result.isPresent());
+
+		final String js = generateJs(result.get().order);
+		assertTrue(js.contains("[" + (size - 1) + ", 1, 0]"));
+	}
+
+	@Test
+	void testIndexParallel() throws Exception {
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			final ParseGraph zip = parse("/data.zip", ZIP.FORMAT).order;
+			assertEquals(generateJs(zip), toJs(index(zip, pool)));
+
+			// Large enough to be split in ranges, with nested graphs and a later definition in the first row
+			final byte[] data = new byte[100_000];
+			for (int i = 0; i < data.length; i += 2) {
+				data[i] = 1;
+			}
+			final Token format = seq(rep(STRING), sub(def("first", 1), con(0)));
+			final ParseState parseState = ParseState.createFromByteStream(new InMemoryByteStream(data));
+			final ParseGraph graph = format.parse(env(parseState, le())).get().order;
+			assertEquals(generateJs(graph), toJs(index(graph, pool)));
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testGenerateJsStream() throws Exception {
+		final ParseState result = parse("/data.zip", ZIP.FORMAT);
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		generateJs(result.order, out);
+		assertEquals(generateJs(result.order), new String(out.toByteArray(), UTF_8));
+	}
+
+	@Test
+	void testGeneratePath() throws Exception {
+		final Path dir = Paths.get(getClass().getResource("/").toURI()).resolve("path");
+		Files.createDirectories(dir);
+		final Path data = Paths.get(getClass().getResource("/data.zip").toURI());
+		generate(parse("/data.zip", ZIP.FORMAT).order, data, "zip", dir, false);
+
+		assertArrayEquals(Files.readAllBytes(data), Files.readAllBytes(dir.resolve("zip")));
+		assertEquals(generateJs(parse("/data.zip", ZIP.FORMAT).order), read(dir.resolve("zip.js").toFile()));
+		assertTrue(read(dir.resolve("zip.summary.js").toFile()).startsWith("/* generated by JsHexViewer */summaryUpdate({\"pageSize\": 1024, \"pages\": [[0, "));
+		assertTrue(read(dir.resolve("zip.coverage.js").toFile()).startsWith("/* generated by JsHexViewer */coverageUpdate({\"size\": " + Files.size(data) + ", "));
+	}
+
+	@Test
+	void testGenerateStreamOverLink() throws Exception {
+		final Path dir = Paths.get(getClass().getResource("/").toURI()).resolve("link");
+		Files.createDirectories(dir);
+		final byte[] original = Files.readAllBytes(Paths.get(getClass().getResource("/data.zip").toURI()));
+		final Path source = Files.write(dir.resolve("source.zip"), original);
+		final ParseGraph graph = parse("/data.zip", ZIP.FORMAT).order;
+		generate(graph, source, "zip", dir, false);
+
+		// The stream replaces the placed link, instead of writing through it into the source
+		final byte[] other = { 1, 2, 3, 4 };
+		generate(graph, new ByteArrayInputStream(other), "zip", dir.toFile(), false);
+		assertArrayEquals(original, Files.readAllBytes(source));
+		assertArrayEquals(other, Files.readAllBytes(dir.resolve("zip")));
+	}
+
+	@Test
+	void testGenerateAll() throws Exception {
+		final Path dir = Paths.get(getClass().getResource("/").toURI()).resolve("batch");
+		final Stream<Job> jobs = Stream.of(
+			new Job("one", rep(STRING).parse(env(stream(1, 'a'), le())).get().order, null),
+			new Job("failed", null, null),
+			new Job("two", rep(STRING).parse(env(stream(1, 'a', 2, 'b', 'c'), le())).get().order, null));
+		final List<Result> results = generateAll(jobs, dir, 2);
+
+		assertTrue(results.get(0).isSuccess());
+		assertFalse(results.get(1).isSuccess());
+		assertTrue(results.get(2).isSuccess());
+		assertEquals(generateJs(rep(STRING).parse(env(stream(1, 'a', 2, 'b', 'c'), le())).get().order), read(dir.resolve("two.js").toFile()));
+		assertTrue(Files.exists(dir.resolve("one.htm")));
+		assertTrue(Files.isDirectory(dir.resolve("libs")));
+	}
+
+	@Test
+	void testGenerateProgressive() throws Exception {
+		final Path dir = Paths.get(getClass().getResource("/").toURI()).resolve("progressive");
+		Files.createDirectories(dir);
+		Files.deleteIfExists(dir.resolve("example.version.js"));
+		final int[] data = new int[3000];
+		for (int i = 0; i < data.length; i += 3) {
+			data[i] = 2;
+			data[i + 1] = 'a';
+			data[i + 2] = 'b';
+		}
+
+		// Block the parse halfway until a snapshot was written, to see it before the parse is done
+		final Path versionFile = dir.resolve("example.version.js");
+		final String[] snapshot = new String[1];
+		final Callback blocker = new Callback() {
+			private int _successes;
+
+			@Override
+			public void handleSuccess(final Token token, final ParseState before, final ParseState after) {
+				if (++_successes != 500) {
+					return;
+				}
+				try {
+					final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+					while (!Files.exists(versionFile) && System.nanoTime() < deadline) {
+						Thread.sleep(10);
+					}
+					snapshot[0] = read(versionFile.toFile());
+				}
+				catch (final InterruptedException | IOException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+
+			@Override
+			public void handleFailure(final Token token, final ParseState before) {
+			}
+		};
+
+		final ParseGraph graph;
+		try (ProgressiveGenerator progressive = new ProgressiveGenerator(null, "example", dir, 0, TimeUnit.MILLISECONDS)) {
+			graph = rep(STRING).parse(new Environment(stream(data), Callbacks.create().add(progressive).add(STRING, blocker), le())).get().order;
+			progressive.finish(graph);
+			// A late callback, e.g. from another parse with the same environment, is ignored
+			progressive.handleSuccess(STRING, stream(1), stream(1));
+		}
+
+		final Matcher snapshotVersion = VERSION.matcher(snapshot[0]);
+		assertTrue(snapshotVersion.find(), snapshot[0]);
+		assertTrue(Integer.parseInt(snapshotVersion.group(3)) < 2000);
+
+		final DefinitionIndex index = index(graph);
+		final Matcher finalVersion = VERSION.matcher(read(versionFile.toFile()));
+		assertTrue(finalVersion.find());
+		assertEquals(String.format("%016x", index.version()), finalVersion.group(1));
+		// The final definitions are a delta on top of the definitions of the first snapshot
+		assertEquals(snapshotVersion.group(2), finalVersion.group(2));
+		assertNotEquals(finalVersion.group(1), finalVersion.group(2));
+		assertEquals("2000", finalVersion.group(3));
+		assertTrue(Integer.parseInt(finalVersion.group(4)) > 0);
+		assertTrue(Files.exists(dir.resolve("example.deltas/" + finalVersion.group(4) + ".js")));
+
+		// The summary and coverage that were kept across the snapshots are those of all definitions
+		final StringWriter summary = new StringWriter();
+		JsHexViewer.generateSummary(new PageSummary(index), summary);
+		assertEquals(summary.toString(), read(dir.resolve("example.summary.js").toFile()));
+		final StringWriter coverage = new StringWriter();
+		JsHexViewer.generateCoverage(new Coverage(index, -1), coverage);
+		assertEquals(coverage.toString(), read(dir.resolve("example.coverage.js").toFile()));
+	}
+
+	@Test
+	void testProgressiveAdded() throws Exception {
+		// The first choice fails after two definitions, so the parse backtracks
+		final Token token = rep(cho(seq(def("a", 1), def("b", 1), def("fail", 1, eq(con(9)))), seq(def("c", 1), sub(def("d", 1), last(ref("c"))))));
+		final List<ParseGraph> graphs = new ArrayList<>();
+		final Callback collector = new Callback() {
+			@Override
+			public void handleSuccess(final Token success, final ParseState before, final ParseState after) {
+				graphs.add(after.order);
+			}
+
+			@Override
+			public void handleFailure(final Token failure, final ParseState before) {
+			}
+		};
+		final ParseGraph graph = token.parse(new Environment(stream(0, 1, 0, 2, 0, 3, 0), Callbacks.create().add(collector), le())).get().order;
+		graphs.add(graph);
+
+		int backtracks = 0;
+		for (int i = 1; i < graphs.size(); i++) {
+			final DefinitionIndex previous = index(graphs.get(i - 1));
+			final DefinitionIndex current = index(graphs.get(i));
+			final DefinitionIndex added = ProgressiveGenerator.added(graphs.get(i - 1), graphs.get(i));
+			if (added == null) {
+				backtracks++;
+				continue;
+			}
+			assertEquals(current.size(), previous.size() + added.size());
+			added.sort();
+			assertEquals(current.version(), added.extendVersion(previous.version()));
+		}
+		assertTrue(backtracks > 0);
+		assertTrue(backtracks < graphs.size() - 1);
+	}
+
+	@Test
+	void testGenerateBinary() throws Exception {
+		final ParseState parseState = stream(7, 'G', 'e', 'r', 't', 'j', 'a', 'n');
+		final Optional<ParseState> result = STRING.parse(env(parseState, le()));
+		assertTrue(result.isPresent());
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		generateBinary(result.get().order, out);
+
+		final ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(32 + 2 * 8 + 2 * 8 + 2 * 4 + 2 * 4 + 2 * 4 + "lengthtext".length(), buffer.capacity());
+		assertEquals("JSHV", new String(out.toByteArray(), 0, 4, UTF_8));
+		assertEquals(3, buffer.getInt(4));
+		assertEquals(32, buffer.getInt(8));
+		assertEquals(2, buffer.getInt(12));
+		assertEquals(2, buffer.getInt(16));
+		assertEquals(10, buffer.getInt(20));
+		assertEquals(0, buffer.getInt(24));
+		assertEquals(0.0, buffer.getDouble(32));
+		assertEquals(1.0, buffer.getDouble(40));
+		assertEquals(1.0, buffer.getDouble(48));
+		assertEquals(7.0, buffer.getDouble(56));
+		assertEquals(0, buffer.getInt(64));
+		assertEquals(1, buffer.getInt(68));
+		assertEquals(NameDictionary.ROOT, buffer.getInt(72));
+		assertEquals(NameDictionary.ROOT, buffer.getInt(76));
+		assertEquals(6, buffer.getInt(80));
+		assertEquals(10, buffer.getInt(84));
+		assertEquals("lengthtext", new String(out.toByteArray(), 88, 10, UTF_8));
+	}
+
+	@Test
+	void testGenerateBinaryExact() throws Exception {
+		final BigInteger big = BigInteger.ONE.shiftLeft(60).add(BigInteger.ONE);
+		final DefinitionIndex index = new DefinitionIndex(32);
+		index.add(BigInteger.valueOf(1), BigInteger.valueOf(1), "a");
+		index.add(big, BigInteger.valueOf(2), "b");
+		index.sort();
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		generateBinary(index, out);
+
+		final ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(1, buffer.getInt(24));
+		final String exact = big + " 2";
+		final int position = buffer.capacity() - 8 - exact.length();
+		assertEquals(1, buffer.getInt(position));
+		assertEquals(exact.length(), buffer.getInt(position + 4));
+		assertEquals(exact, new String(out.toByteArray(), position + 8, exact.length(), UTF_8));
+	}
+
+	@Test
+	void testGenerateShards() throws Exception {
+		final DefinitionIndex index = new DefinitionIndex(32);
+		index.add(BigInteger.valueOf(0), BigInteger.valueOf(4), "a");
+		index.add(BigInteger.valueOf(65534), BigInteger.valueOf(4), "a.b");
+		index.add(BigInteger.valueOf(200000), BigInteger.valueOf(100000), "c");
+		index.add(BigInteger.valueOf(200010), BigInteger.valueOf(2), "c.d");
+		index.sort();
+
+		final File dir = new File(new File(getClass().getResource("/").toURI()), "shards");
+		dir.mkdir();
+		generateShards(index, dir, "example");
+
+		assertEquals("/* generated by JsHexViewer */var manifestUpdate = {columnCount: 32, shardSize: 65536, shardUrl: 'example.shards/', definitionCount: 4, "
+			+ "names: [[-1, 'a'], [0, 'b'], [-1, 'c'], [2, 'd']], shards: [0, 1, 3], spans: [[200000, 100000, 2]]};", read(new File(dir, "example.manifest.js")));
+		assertEquals("/* generated by JsHexViewer */shardUpdate(0, [[0, 4, 0], [65534, 4, 1]]);", read(new File(dir, "example.shards/0.js")));
+		assertEquals("/* generated by JsHexViewer */shardUpdate(1, [[65534, 4, 1]]);", read(new File(dir, "example.shards/1.js")));
+		assertEquals("/* generated by JsHexViewer */shardUpdate(3, [[200010, 2, 3]]);", read(new File(dir, "example.shards/3.js")));
+		assertEquals(3, new File(dir, "example.shards").list().length);
+	}
+
+	@Test
+	void testGenerateDeltas() throws Exception {
+		final File dir = new File(new File(getClass().getResource("/").toURI()), "deltas");
+		dir.mkdir();
+		Files.deleteIfExists(new File(dir, "example.version.js").toPath());
+
+		generate(rep(STRING).parse(env(stream(1, 'a'), le())).get().order, null, "example", dir, false, Output.DELTAS);
+		final String js = read(new File(dir, "example.js"));
+		final String version = js.substring(js.indexOf("var versionUpdate = '"), js.indexOf("';") + 2);
+		assertEquals("/* generated by JsHexViewer */" + version + version.replace("versionUpdate", "baseVersionUpdate")
+			+ "var definitionCountUpdate = 2;var deltaCountUpdate = 0;", read(new File(dir, "example.version.js")));
+
+		// Only definitions are added, so only a delta is written
+		generate(rep(STRING).parse(env(stream(1, 'a', 2, 'b', 'c'), le())).get().order, null, "example", dir, false, Output.DELTAS);
+		assertEquals(js, read(new File(dir, "example.js")));
+		assertEquals("/* generated by JsHexViewer */deltaUpdate(1, [[-1, 'length'], [-1, 'text']], [[2, 1, 0], [3, 2, 1]]);",
+			read(new File(dir, "example.deltas/1.js")));
+		final String versionFile = read(new File(dir, "example.version.js"));
+		assertTrue(versionFile.contains(version.replace("versionUpdate", "baseVersionUpdate")));
+		assertTrue(versionFile.endsWith("var definitionCountUpdate = 4;var deltaCountUpdate = 1;"));
+		assertFalse(versionFile.startsWith("/* generated by JsHexViewer */" + version));
+
+		// A changed definition rewrites everything
+		generate(rep(STRING).parse(env(stream(2, 'a', 'b'), le())).get().order, null, "example", dir, false, Output.DELTAS);
+		assertTrue(read(new File(dir, "example.version.js")).endsWith("var definitionCountUpdate = 2;var deltaCountUpdate = 0;"));
+		assertEquals(0, new File(dir, "example.deltas").list().length);
+	}
+
+	private String toJs(final DefinitionIndex index) throws IOException {
+		final StringWriter writer = new StringWriter();
+		generateJs(index, writer);
+		return writer.toString();
+	}
+
+	private String read(final File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), UTF_8);
+	}
+
 	private ParseState parse(final String name, final Token format) throws IOException, URISyntaxException {
 		return format.parse(environment(name)).get();
 	}
@@ -116,14 +458,20 @@ class JsHexViewerTest {
 		if (RENEW) {
 			export(fileName);
 		}
-		final String generated = IOUtils.toString(getClass().getResourceAsStream("/" + fileName + ".js"), UTF_8);
-		final String expected = IOUtils.toString(getClass().getResourceAsStream("/jsHexViewer/" + fileName + ".js"), UTF_8);
-		assertEquals(expected, generated);
+		// The example pages are kept in sync with the template and the generated scripts
+		for (final String extension : new String[] { ".htm", ".js", ".version.js", ".summary.js", ".coverage.js" }) {
+			final String generated = IOUtils.toString(getClass().getResourceAsStream("/" + fileName + extension), UTF_8);
+			final String expected = IOUtils.toString(getClass().getResourceAsStream("/jsHexViewer/" + fileName + extension), UTF_8);
+			assertEquals(expected, generated, fileName + extension);
+		}
 	}
 
 	private void export(final String fileName) throws Exception {
 		exportFile(fileName + ".htm");
 		exportFile(fileName + ".js");
+		exportFile(fileName + ".version.js");
+		exportFile(fileName + ".summary.js");
+		exportFile(fileName + ".coverage.js");
 		fail("Export should not be used in production");
 	}
 
@@ -0,0 +1,102 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *	 http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package nl.gertjanal.metaltools.jshexviewer;
+
+import static java.math.BigInteger.valueOf;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class PageSummaryTest {
+
+	@Test
+	void testSummary() throws Exception {
+		final DefinitionIndex index = new DefinitionIndex(32);
+		index.add(valueOf(0), valueOf(4), "header.magic");
+		index.add(valueOf(4), valueOf(4), "header.size");
+		index.add(valueOf(2048), valueOf(2), "body.entry");
+		index.add(valueOf(2050), valueOf(2), "body.entry");
+		index.add(valueOf(2052), valueOf(2), "body.entry");
+		index.add(valueOf(3072), valueOf(2), "body.\"end\"");
+		index.add(BigInteger.ONE.shiftLeft(70), valueOf(1), "big");
+		index.sort();
+		final PageSummary summary = new PageSummary(index);
+
+		assertEquals(3, summary.size());
+		assertEquals(2, summary.getPage(1));
+		assertEquals(3, summary.getCount(1));
+		assertEquals("body", summary.getLabel(1));
+		assertEquals("\"end\"", summary.getLabel(2));
+		assertArrayEquals(new int[] { 1, 0, 2 }, summary.getHotspots());
+
+		final StringWriter writer = new StringWriter();
+		summary.write(writer);
+		assertEquals("{\"pageSize\": 1024, \"pages\": [[0, 2, \"header\"], [2, 3, \"body\"], [3, 1, \"\\\"end\\\"\"]], \"hotspots\": [1, 0, 2]}", writer.toString());
+	}
+
+	@Test
+	void testParallel() throws Exception {
+		final Random random = new Random(42);
+		final DefinitionIndex index = new DefinitionIndex(32);
+		for (int i = 0; i < 100_000; i++) {
+			index.add(valueOf(random.nextInt(10_000_000)), valueOf(random.nextInt(16)), "n" + i % 7 + ".v" + i % 3);
+		}
+		index.sort();
+
+		final StringWriter serial = new StringWriter();
+		new PageSummary(index).write(serial);
+		final StringWriter parallel = new StringWriter();
+		new PageSummary(index, new ForkJoinPool(4)).write(parallel);
+		assertEquals(serial.toString(), parallel.toString());
+		assertEquals(PageSummary.HOTSPOT_COUNT, new PageSummary(index).getHotspots().length);
+	}
+
+	@Test
+	void testPages() throws Exception {
+		final Random random = new Random(42);
+		final DefinitionIndex all = new DefinitionIndex(32);
+		final PageSummary.Pages pages = new PageSummary.Pages();
+		for (int batch = 0; batch < 50; batch++) {
+			final DefinitionIndex added = new DefinitionIndex(32);
+			for (int i = 0; i < 200; i++) {
+				final BigInteger offset = valueOf(random.nextInt(1_000_000));
+				final String name = "n" + random.nextInt(7) + ".v" + random.nextInt(3);
+				all.add(offset, valueOf(4), name);
+				added.add(offset, valueOf(4), name);
+			}
+			added.add(BigInteger.ONE.shiftLeft(70), valueOf(1), "big");
+			all.add(BigInteger.ONE.shiftLeft(70), valueOf(1), "big");
+			added.sort();
+			pages.add(added);
+		}
+		all.sort();
+
+		// Summarizing the definitions that were added in batches gives the summary of all definitions
+		final StringWriter expected = new StringWriter();
+		new PageSummary(all).write(expected);
+		final StringWriter actual = new StringWriter();
+		pages.summarize().write(actual);
+		assertEquals(expected.toString(), actual.toString());
+	}
+}
@@ -16,33 +16,34 @@
 
 package nl.gertjanal.metaltools.jstree;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URISyntaxException;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.StandardCopyOption;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-
-import org.apache.commons.io.IOUtils;
+import java.util.stream.Stream;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 
 import io.parsingdata.metal.data.ParseGraph;
-import io.parsingdata.metal.data.ParseItem;
-import io.parsingdata.metal.token.Token;
+import nl.gertjanal.metaltools.core.BatchGenerator;
+import nl.gertjanal.metaltools.core.BatchGenerator.Job;
+import nl.gertjanal.metaltools.core.BatchGenerator.Result;
+import nl.gertjanal.metaltools.core.LibraryFiles;
+import nl.gertjanal.metaltools.core.ParseGraphWalker;
+import nl.gertjanal.metaltools.core.SourceFiles;
 
 /**
  * Generate a d3 tree of the {@link ParseGraph}.
@@ -51,46 +52,59 @@ import io.parsingdata.metal.token.Token;
  */
 public class JsTree {
 
-	private static String generateJs(final ParseGraph graph) throws IOException {
-		final Map<String, Object> root = new LinkedHashMap<>();
-		step(graph, root, new HashMap<>());
-		final ObjectMapper objectMapper = new ObjectMapper();
-		if (root.containsKey("children")){
-			return objectMapper.writeValueAsString(((List<?>) root.get("children")).get(0));
+	private static final JsonFactory JSON = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+	/**
+	 * Write the skeleton of the tree as JSON: the names of the definitions, the top node and the directory of the chunks.
+	 * The children of a node are only loaded from its chunk when the node is expanded.
+	 */
+	private static void generateJs(final TreeSink tree, final String chunkUrl, final Writer writer) throws IOException {
+		try (JsonGenerator generator = JSON.createGenerator(writer)) {
+			generator.writeStartObject();
+			if (!tree.isEmpty()) {
+				generator.writeArrayFieldStart("names");
+				for (int definition = 0; definition < tree.getDefinitionCount(); definition++) {
+					generator.writeString(tree.getName(definition));
+				}
+				generator.writeEndArray();
+				generator.writeNumberField("top", tree.getTop());
+				generator.writeStringField("chunks", chunkUrl);
+			}
+			generator.writeEndObject();
 		}
-		return "{}";
 	}
 
-	private static void step(final ParseItem item, final Map<String, Object> self, final Map<Token, LinkedList<Map<String, Object>>> collection) {
-		final Token definition = item.getDefinition();
-		self.put("name", definition.getClass().getSimpleName() + (definition.name.isEmpty() ? "" : ": " + definition.name));
-		if (!item.isGraph() || item.asGraph().head == null) {
+	/**
+	 * Write a chunk for every definition with children, as a script that calls {@code treeChunk} with the definition
+	 * and its children, see {@link TreeSink#getChildren(int)}.
+	 */
+	private static void generateChunks(final TreeSink tree, final File chunkDir) throws IOException {
+		clear(chunkDir);
+		if (tree.isEmpty()) {
 			return;
 		}
-
-		final LinkedList<Map<String, Object>> children;
-		final Map<String, Object> head = new LinkedHashMap<>();
-		final Map<String, Object> tail = new LinkedHashMap<>();
-
-		if (collection.containsKey(definition)) {
-			children = collection.get(definition);
-		}
-		else {
-			children = new LinkedList<>();
-			self.put("children", children);
-			collection.put(definition, children);
-		}
-
-		if (item.asGraph().head.getDefinition() != item.getDefinition()) {
-			children.push(head);
+		Files.createDirectories(chunkDir.toPath());
+		for (int definition = 0; definition < tree.getDefinitionCount(); definition++) {
+			if (tree.hasChildren(definition)) {
+				try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(chunkDir, definition + ".js")), UTF_8))) {
+					final int[] children = tree.getChildren(definition);
+					writer.write("/* generated by JsTree */treeChunk(" + definition + ", ");
+					try (JsonGenerator generator = JSON.createGenerator(writer)) {
+						generator.writeArray(children, 0, children.length);
+					}
+					writer.write(");");
+				}
+			}
 		}
+	}
 
-		if (item.asGraph().tail.getDefinition() != item.getDefinition()) {
-			children.push(tail);
+	private static void clear(final File dir) throws IOException {
+		final File[] previous = dir.listFiles((directory, name) -> name.endsWith(".js"));
+		if (previous != null) {
+			for (final File file : previous) {
+				Files.delete(file.toPath());
+			}
 		}
-
-		step(item.asGraph().tail, tail, collection);
-		step(item.asGraph().head, head, collection);
 	}
 
 	public static void generate(final ParseGraph graph) throws URISyntaxException, IOException {
@@ -107,12 +121,54 @@ public class JsTree {
 	}
 
 	public static void generate(final ParseGraph graph, final InputStream data, final String fileName, final File dir, final boolean copyLibs) throws URISyntaxException, IOException {
+		final TreeSink tree = new TreeSink();
+		ParseGraphWalker.walk(graph, tree);
+		generate(tree, data, fileName, dir, copyLibs);
+	}
+
+	/**
+	 * Generate the tree that was already built, for example by a {@link TreeSink} that walked the graph together with other sinks.
+	 */
+	public static void generate(final TreeSink tree, final InputStream data, final String fileName, final File dir, final boolean copyLibs) throws URISyntaxException, IOException {
 		// Save content
 		if (data != null) {
-			try (FileOutputStream fos = new FileOutputStream(new File(dir, fileName))) {
-				IOUtils.copy(data, fos);
-			}
+			SourceFiles.write(data, new File(dir, fileName).toPath());
+		}
+		generateTree(tree, fileName, dir, copyLibs);
+	}
+
+	public static void generate(final ParseGraph graph, final Path data, final String fileName, final Path dir, final boolean copyLibs) throws URISyntaxException, IOException {
+		final TreeSink tree = new TreeSink();
+		ParseGraphWalker.walk(graph, tree);
+		generate(tree, data, fileName, dir, copyLibs);
+	}
+
+	/**
+	 * Generate the tree for a source file. The source is linked into the directory instead of copied when possible,
+	 * see {@link SourceFiles#place(Path, Path)}.
+	 */
+	public static void generate(final TreeSink tree, final Path data, final String fileName, final Path dir, final boolean copyLibs) throws URISyntaxException, IOException {
+		if (data != null) {
+			SourceFiles.place(data, dir.resolve(fileName));
 		}
+		generateTree(tree, fileName, dir.toFile(), copyLibs);
+	}
+
+	/**
+	 * Generate the trees of many graphs into one directory, concurrently. The libraries are extracted once,
+	 * see {@link BatchGenerator} for how the jobs are run.
+	 *
+	 * @return the result of every job, in the order of the stream
+	 */
+	public static List<Result> generateAll(final Stream<Job> jobs, final Path dir, final int parallelism) throws URISyntaxException, IOException, InterruptedException {
+		Files.createDirectories(dir);
+		copyLibs(dir.toFile());
+		return new BatchGenerator(dir, parallelism, (graph, data, fileName, jobDir) -> generate(graph, data, fileName, jobDir, false)).generate(jobs);
+	}
+
+	private static void generateTree(final TreeSink tree, final String fileName, final File dir, final boolean copyLibs) throws URISyntaxException, IOException {
+		final File chunkDir = new File(dir, fileName + ".tree");
+		generateChunks(tree, chunkDir);
 
 		// Generate html
 		final File file = new File(dir, fileName + ".htm");
@@ -124,7 +180,7 @@ public class JsTree {
 				if (line.contains("/* generated */")) {
 					if (line.trim().startsWith("loadData(")) {
 						out.write("loadData(");
-						out.write(generateJs(graph));
+						generateJs(tree, chunkDir.getName() + "/", out);
 						out.write(");");
 					}
 				}
@@ -141,29 +197,11 @@ public class JsTree {
 		}
 	}
 
+	/**
+	 * Extract the libraries of the page into {@code libs} in the directory. Files that were extracted before
+	 * are skipped, see {@link LibraryFiles}; this also works when the libraries are packaged in a jar.
+	 */
 	public static void copyLibs(final File dir) throws URISyntaxException, IOException {
-		final File libsSource = new File(JsTree.class.getResource("/jsTree/libs/").toURI());
-		final File libsDestination = new File(dir, "libs");
-		libsDestination.mkdir();
-		final Path source = libsSource.toPath();
-		final Path destination = libsDestination.toPath();
-
-		Files.walkFileTree(libsSource.toPath(), new SimpleFileVisitor<Path>() {
-			@Override
-			public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
-				final Path targetPath = destination.resolve(source.relativize(dir));
-				if (!Files.exists(targetPath)) {
-					Files.createDirectory(targetPath);
-				}
-				return FileVisitResult.CONTINUE;
-			}
-
-			@Override
-			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
-				Files.copy(file, destination.resolve(source.relativize(file)), StandardCopyOption.REPLACE_EXISTING);
-				return FileVisitResult.CONTINUE;
-			}
-		});
+		LibraryFiles.extract(JsTree.class, "/jsTree/libs/", new File(dir, "libs").toPath());
 	}
-
 }
@@ -0,0 +1,193 @@
+/**
+ * Copyright 2016 Gertjan Al
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.gertjanal.metaltools.jstree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.parsingdata.metal.data.ParseGraph;
+import io.parsingdata.metal.data.ParseItem;
+import io.parsingdata.metal.data.ParseReference;
+import io.parsingdata.metal.data.ParseValue;
+import io.parsingdata.metal.data.Slice;
+import io.parsingdata.metal.token.Token;
+import nl.gertjanal.metaltools.core.ParseGraphSink;
+import nl.gertjanal.metaltools.core.ParseGraphWalker;
+
+/**
+ * Build the d3 tree of a {@link ParseGraph}, while it is walked by the {@link ParseGraphWalker}.
+ * The state is the number of the node of the item.
+ * <p>
+ * Graphs of the same definition share their children: the first of them owns the list, the others are leaves.
+ * So the tree is only known when the walk is done, and it is kept compactly until then: for every node the
+ * definition it shows, and for every definition the nodes of its children. The tree is read per definition, see
+ * {@link #getChildren(int)}, so it can be written in parts.
+ *
+ * @author Netherlands Forensic Institute.
+ */
+public class TreeSink implements ParseGraphSink<Integer> {
+
+	private static final int NONE = -1;
+	private static final int INITIAL_CAPACITY = 1 << 10;
+
+	// Looked up by identity, which is cheap for every node; equal definitions are only compared once per instance,
+	// so distinct but equal definitions still share their children
+	private final Map<Token, Integer> _identities = new IdentityHashMap<>();
+	private final Map<Token, Integer> _definitions = new HashMap<>();
+	private final List<String> _names = new ArrayList<>();
+	private final List<int[]> _children = new ArrayList<>();
+	private int[] _childCounts = new int[0];
+	private int[] _owners = new int[0];
+	private int[] _nodeDefinitions = new int[INITIAL_CAPACITY];
+	private int _nodeCount;
+
+	@Override
+	public Integer root(final ParseGraph graph) {
+		return node(NONE);
+	}
+
+	@Override
+	public void graph(final ParseGraph graph, final Integer self) {
+		name(graph, self);
+	}
+
+	@Override
+	public void value(final ParseValue value, final Slice slice, final Integer self) {
+		name(value, self);
+	}
+
+	@Override
+	public void reference(final ParseReference reference, final Integer self) {
+		name(reference, self);
+	}
+
+	@Override
+	public Integer head(final ParseGraph graph, final Integer self) {
+		return child(graph, graph.head, self);
+	}
+
+	@Override
+	public Integer tail(final ParseGraph graph, final Integer self) {
+		return child(graph, graph.tail, self);
+	}
+
+	private Integer child(final ParseGraph graph, final ParseItem item, final Integer self) {
+		final int children = children(graph, self);
+		if (item.getDefinition() == graph.getDefinition()) {
+			// Not shown; its children are added to the children of the graph, which already exist
+			return self;
+		}
+		final int child = node(definition(item.getDefinition()));
+		if (_childCounts[children] == _children.get(children).length) {
+			_children.set(children, Arrays.copyOf(_children.get(children), Math.max(4, _childCounts[children] * 2)));
+		}
+		_children.get(children)[_childCounts[children]++] = child;
+		return child;
+	}
+
+	private int node(final int definition) {
+		if (_nodeCount == _nodeDefinitions.length) {
+			_nodeDefinitions = Arrays.copyOf(_nodeDefinitions, _nodeCount + (_nodeCount >> 1));
+		}
+		_nodeDefinitions[_nodeCount] = definition;
+		return _nodeCount++;
+	}
+
+	private void name(final ParseItem item, final int self) {
+		_nodeDefinitions[self] = definition(item.getDefinition());
+	}
+
+	private int definition(final Token definition) {
+		return _identities.computeIfAbsent(definition, instance -> _definitions.computeIfAbsent(instance, token -> {
+			_names.add(token.getClass().getSimpleName() + (token.name.isEmpty() ? "" : ": " + token.name));
+			_children.add(new int[0]);
+			_childCounts = Arrays.copyOf(_childCounts, _names.size());
+			_owners = Arrays.copyOf(_owners, _names.size());
+			_owners[_names.size() - 1] = NONE;
+			return _names.size() - 1;
+		}));
+	}
+
+	/**
+	 * @return the definition whose children are the children of the graph
+	 */
+	private int children(final ParseGraph graph, final int self) {
+		// Graphs of the same definition share their children
+		final int definition = definition(graph.getDefinition());
+		if (_owners[definition] == NONE) {
+			_owners[definition] = self;
+		}
+		return definition;
+	}
+
+	/**
+	 * @return true if the graph is empty, so the tree has no top node
+	 */
+	public boolean isEmpty() {
+		return _nodeCount == 0 || _owners[_nodeDefinitions[0]] != 0 || _childCounts[_nodeDefinitions[0]] == 0;
+	}
+
+	/**
+	 * @return the top node of the tree, see {@link #getChildren(int)}
+	 */
+	public int getTop() {
+		final int root = _nodeDefinitions[0];
+		return code(_children.get(root)[_childCounts[root] - 1]);
+	}
+
+	/**
+	 * @return the number of definitions; they are numbered in the order in which they were first visited
+	 */
+	public int getDefinitionCount() {
+		return _names.size();
+	}
+
+	/**
+	 * @return the name of the nodes of the definition: the kind of token, and its name
+	 */
+	public String getName(final int definition) {
+		return _names.get(definition);
+	}
+
+	/**
+	 * @return true if a node of the tree owns the children of the definition
+	 */
+	public boolean hasChildren(final int definition) {
+		// The first node is the root of the walk, which is not shown
+		return _owners[definition] > 0;
+	}
+
+	/**
+	 * The children of the definition, the last added child first. Every child is written as its definition when it
+	 * owns the children of its definition, and as {@code -1 - definition} when it is a leaf.
+	 */
+	public int[] getChildren(final int definition) {
+		final int[] children = new int[_childCounts[definition]];
+		for (int i = 0; i < children.length; i++) {
+			children[i] = code(_children.get(definition)[children.length - 1 - i]);
+		}
+		return children;
+	}
+
+	private int code(final int node) {
+		final int definition = _nodeDefinitions[node];
+		return _owners[definition] == node ? definition : -1 - definition;
+	}
+}
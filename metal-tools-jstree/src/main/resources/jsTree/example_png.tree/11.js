@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(11, [-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,-15,-14,-13,-16,14,-14,12]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(19, [-17]);
\ No newline at end of file
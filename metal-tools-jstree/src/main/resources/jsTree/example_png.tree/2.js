@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(2, [20,19,18]);
\ No newline at end of file
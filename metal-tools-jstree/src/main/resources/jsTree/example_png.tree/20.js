@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(20, [-16]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(4, [7,6,5]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(5, [-11]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(6, [-10]);
\ No newline at end of file
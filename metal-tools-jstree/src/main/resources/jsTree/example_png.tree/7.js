@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(7, [-9]);
\ No newline at end of file
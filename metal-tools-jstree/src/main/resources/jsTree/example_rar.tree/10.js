@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(10, [-12]);
\ No newline at end of file
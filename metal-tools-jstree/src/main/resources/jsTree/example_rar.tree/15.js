@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(15, [-19]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(17, [-13]);
\ No newline at end of file
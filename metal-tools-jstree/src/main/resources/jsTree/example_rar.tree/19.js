@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(19, [-12,-34,-14,-15,-33,-32,-31,-30,-29,-28,-27,-26,-25,-24,-23,-22,-43,-12,-34,-14,-15,-33,-32,-31,-30,-29,-28,-27,-26,-25,-24,-23,-22,-12,-34,-14,-15,-33,-32,-31,-30,-29,-28,-27,-26,-25,-24,-23,-22,-21,-12,-34,-14,-15,-33,-32,-31,-30,-29,-28,-27,-26,-25,-24,-23,-22,-21,-12,33,-14,-15,-33,-32,30,-30,-29,-28,26,-26,-25,23,-23,21,-21]);
\ No newline at end of file
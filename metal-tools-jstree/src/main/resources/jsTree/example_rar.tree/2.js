@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(2, [6,5,4,3]);
\ No newline at end of file
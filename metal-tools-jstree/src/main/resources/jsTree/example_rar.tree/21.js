@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(21, [-40,-40,-40,-40,-40]);
\ No newline at end of file
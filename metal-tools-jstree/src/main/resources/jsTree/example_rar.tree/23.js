@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(23, [-39,-39,-39,-39,-39]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(26, [-41,40,-37,-37,36]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(3, [45,44,43,-8]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(30, [-35,-35,-35,-35,34]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(33, [-13,-13,-13,-13,-13]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(34, [-36,-36,-36,-36,-36]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(36, [-38,-38,-38]);
\ No newline at end of file
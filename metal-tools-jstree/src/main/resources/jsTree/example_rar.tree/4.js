@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(4, [19,-20,-20,-20,-20]);
\ No newline at end of file
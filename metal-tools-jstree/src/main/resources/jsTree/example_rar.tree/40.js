@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(40, [-42,-42]);
\ No newline at end of file
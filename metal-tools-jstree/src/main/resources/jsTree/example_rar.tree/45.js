@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(45, [-12]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(5, [-12,17,-14,-15,-17,15]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(7, [-15,-15]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(8, [-14]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(9, [-13]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(1, [4,3,2]);
\ No newline at end of file
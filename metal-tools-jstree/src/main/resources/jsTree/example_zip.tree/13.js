@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(13, [-27]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(14, [-26]);
\ No newline at end of file
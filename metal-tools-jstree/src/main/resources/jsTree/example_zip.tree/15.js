@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(15, [-25]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(18, [-24]);
\ No newline at end of file
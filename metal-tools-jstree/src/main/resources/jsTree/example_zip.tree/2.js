@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(2, [45,44,43,42,41,40,39,-39]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(21, [-23]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(28, [35,-35,-21,-20,-24,-18,-17,-25,-26,-27,-13,-12,-34,32,-32,-31,-30,-11,-10]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(3, [28]);
\ No newline at end of file
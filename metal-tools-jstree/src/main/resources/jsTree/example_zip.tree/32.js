@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(32, [-38]);
\ No newline at end of file
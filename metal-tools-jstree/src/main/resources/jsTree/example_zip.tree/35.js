@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(35, [-37]);
\ No newline at end of file
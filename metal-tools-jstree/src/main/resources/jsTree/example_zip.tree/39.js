@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(39, [-53]);
\ No newline at end of file
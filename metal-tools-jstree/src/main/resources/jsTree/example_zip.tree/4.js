@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(4, [5]);
\ No newline at end of file
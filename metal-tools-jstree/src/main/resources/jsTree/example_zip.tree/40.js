@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(40, [-52]);
\ No newline at end of file
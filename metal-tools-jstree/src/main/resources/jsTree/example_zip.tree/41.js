@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(41, [-51]);
\ No newline at end of file
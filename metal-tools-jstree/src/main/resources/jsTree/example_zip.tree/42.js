@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(42, [-50]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(43, [-49]);
\ No newline at end of file
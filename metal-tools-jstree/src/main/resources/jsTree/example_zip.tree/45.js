@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(45, [-47]);
\ No newline at end of file
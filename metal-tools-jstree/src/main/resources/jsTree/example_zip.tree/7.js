@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(7, [-28]);
\ No newline at end of file
@@ -0,0 +1 @@
+/* generated by JsTree */treeChunk(8, [21,-21,-20,18,-18,-17,15,14,13,-13,-12,-11,-10]);
\ No newline at end of file
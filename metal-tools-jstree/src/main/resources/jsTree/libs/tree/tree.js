@@ -4,6 +4,12 @@ var offset = 100,
 	i = 0,
 	root;
 
+// The tree is loaded per node: the page has the names and the top node, the children are in chunks (see JsTree)
+var names = [];
+var chunkUrl;
+var expanding = {};
+var groupSize = 50;
+
 var tree = d3.layout.tree().size([h, w]);
 var diagonal = d3.svg.diagonal().projection(function(d) { return [d.y, d.x]; });
 
@@ -18,10 +24,72 @@ var vis = d3.select('#box').append('svg:svg')
 			.attr('transform', 'translate(' + offset + ', 0)');
 
 function loadData(json) {
-	root = json;
+	if (json.name) {
+		// A tree with all children inline, as generated before the chunks
+		root = json;
+	}
+	else if (json.names) {
+		names = json.names;
+		chunkUrl = json.chunks;
+		root = node(json.top);
+	}
+	else {
+		return; // Empty graph
+	}
 	root.x0 = h / 2;
 	root.y0 = 0;
 	update(root);
+	if (!root.children) {
+		expand(root);
+	}
+}
+
+function node(code) {
+	// A node that owns the children of its definition has a chunk with them, the other nodes are leaves
+	return code >= 0 ? {name: names[code], chunk: code} : {name: names[-1 - code]};
+}
+
+function expand(d) {
+	if (d.children || d._children) {
+		toggle(d);
+		update(d);
+	}
+	else if (d.codes) {
+		d.children = group(d.codes, d.from, d.to);
+		update(d);
+	}
+	else if (d.chunk !== undefined && !expanding[d.chunk]) {
+		expanding[d.chunk] = d;
+		var script = document.createElement('script');
+		script.src = chunkUrl + d.chunk + '.js';
+		script.onload = function() {
+			this.parentNode.removeChild(this);
+		};
+		document.getElementsByTagName('head')[0].appendChild(script);
+	}
+}
+
+function treeChunk(chunk, codes) {
+	var d = expanding[chunk];
+	delete expanding[chunk];
+	if (d) {
+		d.children = group(codes, 0, codes.length);
+		update(d);
+	}
+}
+
+function group(codes, from, to) {
+	// At most groupSize nodes are laid out at once; more children are divided in ranges, that are expanded like nodes
+	var span = 1;
+	while ((to - from) / span > groupSize) {
+		span *= groupSize;
+	}
+	var nodes = [];
+	for (var index = from; index < to; index += span) {
+		var end = Math.min(index + span, to);
+		nodes.push(span === 1 ? node(codes[index]) : {name: '[' + index + '..' + (end - 1) + ']', codes: codes, from: index, to: end});
+	}
+	return nodes;
 }
 
 function update(source) {
@@ -40,7 +108,7 @@ function update(source) {
 	var nodeEnter = node.enter().append('g')
 		.attr('class', function(d){ return 'node hue' + getHue(d.name);})
 		.attr('transform', function(d) { return 'translate(' + source.y0 + ',' + source.x0 + ')'; })
-		.on('click', function(d) { toggle(d); update(d); });
+		.on('click', expand);
 	
 	nodeEnter.append('text')
 	    .attr('y', 4)
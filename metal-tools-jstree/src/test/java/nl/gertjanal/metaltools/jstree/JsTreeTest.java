@@ -17,19 +17,26 @@
 package nl.gertjanal.metaltools.jstree;
 
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import static io.parsingdata.metal.Shorthand.def;
+import static io.parsingdata.metal.Shorthand.rep;
 import static io.parsingdata.metal.util.EncodingFactory.le;
 import static io.parsingdata.metal.util.EnvironmentFactory.env;
 import static io.parsingdata.metal.util.ParseStateFactory.stream;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Optional;
 
 import org.apache.commons.io.IOUtils;
@@ -39,6 +46,7 @@ import io.parsingdata.metal.data.Environment;
 import io.parsingdata.metal.data.ParseState;
 import io.parsingdata.metal.format.PNG;
 import io.parsingdata.metal.format.ZIP;
+import io.parsingdata.metal.util.InMemoryByteStream;
 import nl.gertjanal.metaltools.formats.rar.RAR;
 
 class JsTreeTest {
@@ -72,6 +80,40 @@ class JsTreeTest {
 		assertGenerate(result, "example_rar");
 	}
 
+	@Test
+	void testGenerateDeepGraph() throws Exception {
+		// A long rep results in a tail chain that is too deep to walk recursively
+		final ParseState parseState = ParseState.createFromByteStream(new InMemoryByteStream(new byte[200_000]));
+		final Optional<ParseState> result = rep(def("byte", 1)).parse(env(parseState, le()));
+		assertTrue(result.isPresent());
+
+		JsTree.generate(result.get().order, "example_deep");
+		final String generated = IOUtils.toString(getClass().getResourceAsStream("/example_deep.htm"), StandardCharsets.UTF_8);
+		assertTrue(generated.contains("loadData({\"names\":[\": NONE\",\"Rep\",\"Def: byte\"],\"top\":1,\"chunks\":\"example_deep.tree/\"});"));
+
+		// The children of the top node are only in its chunk; the bytes are leaves
+		final String chunk = IOUtils.toString(getClass().getResourceAsStream("/example_deep.tree/1.js"), StandardCharsets.UTF_8);
+		assertTrue(chunk.startsWith("/* generated by JsTree */treeChunk(1, [-3,-3,"));
+		assertEquals(200_000, chunk.split("-3").length - 1);
+	}
+
+	@Test
+	void testGenerateStreamOverLink() throws Exception {
+		final Path dir = Paths.get(getClass().getResource("/").toURI()).resolve("link");
+		Files.createDirectories(dir);
+		final byte[] original = Files.readAllBytes(Paths.get(getClass().getResource("/data.zip").toURI()));
+		final Path source = Files.write(dir.resolve("source.zip"), original);
+		final Optional<ParseState> result = ZIP.FORMAT.parse(environment("/data.zip"));
+		assertTrue(result.isPresent());
+		JsTree.generate(result.get().order, source, "zip", dir, false);
+
+		// The stream replaces the placed link, instead of writing through it into the source
+		final byte[] other = { 1, 2, 3, 4 };
+		JsTree.generate(result.get().order, new ByteArrayInputStream(other), "zip", dir.toFile(), false);
+		assertArrayEquals(original, Files.readAllBytes(source));
+		assertArrayEquals(other, Files.readAllBytes(dir.resolve("zip")));
+	}
+
 	private Environment environment(final String name) throws IOException, URISyntaxException {
 		return env(stream(getClass().getResource(name).toURI()), le());
 	}
@@ -85,15 +127,32 @@ class JsTreeTest {
 		final String generated = IOUtils.toString(getClass().getResourceAsStream("/" + fileName + ".htm"), StandardCharsets.UTF_8);
 		final String expected = IOUtils.toString(getClass().getResourceAsStream("/jsTree/" + fileName + ".htm"), StandardCharsets.UTF_8);
 		assertEquals(expected, generated);
+		for (final String chunk : chunks(fileName)) {
+			final String generatedChunk = IOUtils.toString(getClass().getResourceAsStream("/" + chunk), StandardCharsets.UTF_8);
+			final String expectedChunk = IOUtils.toString(getClass().getResourceAsStream("/jsTree/" + chunk), StandardCharsets.UTF_8);
+			assertEquals(expectedChunk, generatedChunk);
+		}
+	}
+
+	private String[] chunks(final String fileName) throws URISyntaxException {
+		final String[] chunks = new File(new File(getClass().getResource("/").toURI()), fileName + ".tree").list();
+		for (int i = 0; i < chunks.length; i++) {
+			chunks[i] = fileName + ".tree/" + chunks[i];
+		}
+		return chunks;
 	}
 
 	private void export(final String fileName) throws Exception {
 		exportFile(fileName + ".htm");
+		for (final String chunk : chunks(fileName)) {
+			exportFile(chunk);
+		}
 		fail("Export should not be used in production");
 	}
 
 	private void exportFile(final String fileName) throws Exception {
 		final File export = new File(new File(getClass().getResource("/").toURI()).getParentFile().getParentFile(), "/src/main/resources/jsTree/" + fileName);
+		export.getParentFile().mkdirs();
 		try (FileOutputStream fos = new FileOutputStream(export)) {
 			IOUtils.copy(getClass().getResourceAsStream("/" + fileName), fos);
 		}